@@ -36,6 +36,10 @@ dependencies {
 	testImplementation("org.assertj:assertj-core:3.26.3")
 	testImplementation("org.junit.jupiter:junit-jupiter-api:5.11.3")
 	testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.11.3")
+
+	testImplementation("org.openjdk.jol:jol-core:0.17")
+	testImplementation("org.openjdk.jmh:jmh-core:1.37")
+	testAnnotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
 
 allprojects {
@@ -82,10 +86,35 @@ java {
 
 version = System.getenv("VERSION") ?: "dev"
 
+// precompile all rule and constant files into one binary bundle packaged next to 'rules-integrity.json'
+val generateRuleBundle =
+	tasks.register<JavaExec>("generateRuleBundle") {
+		group = "Build"
+		description = "Compile linter rules and constants into a binary rule bundle"
+		classpath = files(sourceSets.main.get().output.classesDirs) + sourceSets.main.get().compileClasspath
+		mainClass = "jadx.plugins.linter.RuleBundleGenerator"
+
+		val rulesDir = layout.projectDirectory.dir("src/main/resources/linter")
+		val bundleDir = layout.buildDirectory.dir("generated/linter-bundle")
+		inputs.dir(rulesDir)
+		outputs.dir(bundleDir)
+		args = mutableListOf(rulesDir.toString(), bundleDir.get().file("linter/rules.bundle").toString())
+	}
+
+sourceSets {
+	main {
+		resources.srcDir(generateRuleBundle)
+	}
+}
+
 tasks {
 	withType(Test::class) {
 		useJUnitPlatform()
 	}
+	withType(Jar::class) {
+		// plugin version is part of the rule snapshot key
+		manifest.attributes["Implementation-Version"] = project.version
+	}
 	val shadowJar =
 		withType(ShadowJar::class) {
 			archiveClassifier.set("") // remove '-all' suffix
@@ -101,6 +130,19 @@ tasks {
 	}
 }
 
+tasks.register<JavaExec>("benchmark") {
+	group = "Verification"
+	description = "Run JMH benchmarks, select them with -Pjmh.include=<regex>"
+	classpath = sourceSets.test.get().runtimeClasspath
+	mainClass = "org.openjdk.jmh.Main"
+
+	val argList = mutableListOf<String>()
+	if (project.hasProperty("jmh.include")) {
+		argList.add(project.properties["jmh.include"].toString())
+	}
+	args = argList
+}
+
 tasks.register<JavaExec>("updateSDKRules") {
 	group = "Execution"
 	description = "Extract Android SDK linter rules"
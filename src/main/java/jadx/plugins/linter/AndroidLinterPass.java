@@ -1,10 +1,22 @@
 package jadx.plugins.linter;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,7 +29,6 @@ import jadx.api.plugins.pass.types.JadxDecompilePass;
 import jadx.core.codegen.utils.CodeComment;
 import jadx.core.dex.attributes.AFlag;
 import jadx.core.dex.attributes.AType;
-import jadx.core.dex.info.ClassInfo;
 import jadx.core.dex.info.MethodInfo;
 import jadx.core.dex.instructions.ConstStringNode;
 import jadx.core.dex.instructions.IndexInsnNode;
@@ -42,9 +53,33 @@ public class AndroidLinterPass implements JadxDecompilePass {
 
 	private static final Logger LOG = LoggerFactory.getLogger(AndroidLinterPass.class);
 
+	// check the time budget every 256 instructions
+	private static final int TIME_CHECK_MASK = 0xFF;
+
+	private final LinterOptions options;
+
 	private RootNode root = null;
 
-	private Map<String, List<LinterRule<?>>> linterRules = null;
+	// replaced as a whole when another rule tier is published
+	private volatile RuleSet activeRules = null;
+
+	// loads the repository tiers of the TIERED rule store, null otherwise
+	private Thread tierThread = null;
+
+	// store of the published rule tiers, extended by the thread loading the repository tiers
+	private HeapRuleStore tierStore = null;
+
+	// methods calling rule methods, null if all methods are visited
+	private Set<MethodInfo> ruleCallers = null;
+
+	// resolves field references of the shared rule core in this root
+	private FieldBinding fieldBinding = null;
+
+	// rules loaded in the background since plugin init, null once the rules are set up
+	private volatile Future<RuleCore> rulesFuture = null;
+
+	// background loading failed or timed out, the pass runs without rules
+	private volatile boolean rulesMissing = false;
 
 	/*
 	 * TODO: Open a new feature request: Add a Jadx API to collect dependency information (artifact,
@@ -52,7 +87,15 @@ public class AndroidLinterPass implements JadxDecompilePass {
 	 * allow plugins to access or contribute dependencies, write dependencies to gradle files during
 	 * export (as comment in dependency section). Could a plugin provide such an API?
 	 */
-	private final Set<String> dependencies = new HashSet<>();
+	private final DependencyEvidence dependencies = new DependencyEvidence();
+
+	private final LinterStats stats = new LinterStats();
+
+	private final Map<MethodInfo, String> methodProtos = new ConcurrentHashMap<>();
+
+	public AndroidLinterPass(final LinterOptions options) {
+		this.options = options;
+	}
 
 	@Override
 	public JadxPassInfo getInfo() {
@@ -62,18 +105,262 @@ public class AndroidLinterPass implements JadxDecompilePass {
 
 	@Override
 	public boolean visit(ClassNode cls) {
+		awaitRules();
+		if (rulesMissing) {
+			cls.addWarnComment("Android linter rules were not loaded, constants are not replaced");
+		}
 		return true;
 	}
 
+	/**
+	 * Start parsing rule files on a background thread, overlapped with loading of the input files.
+	 * Only rules of the heap store without selective loading don't depend on the input.
+	 */
+	void startLoading() {
+		if (!options.isAsyncLoad() || options.getRuleStoreMode() != LinterOptions.RuleStoreMode.HEAP || options.isSelectiveLoad()) {
+			return;
+		}
+		final LinterRuleLoader ruleLoader = new LinterRuleLoader(null, RuleIndexUtils.usePackagedRules());
+		configureLoader(ruleLoader);
+		final FutureTask<RuleCore> task = new FutureTask<>(() -> loadRuleCore(ruleLoader));
+		final Thread thread = new Thread(task, "android-linter-rules");
+		thread.setDaemon(true);
+		thread.start();
+		rulesFuture = task;
+	}
+
 	@Override
 	public void init(final RootNode root) {
 		this.root = root;
-
+		this.fieldBinding = new FieldBinding(root);
+		if (rulesFuture != null) {
+			// wait on first use, jadx can go on with the input meanwhile
+			return;
+		}
 		final LinterRuleLoader ruleLoader = new LinterRuleLoader(root, RuleIndexUtils.usePackagedRules());
+		if (options.getRuleStoreMode() == LinterOptions.RuleStoreMode.TIERED) {
+			initTieredRules(ruleLoader);
+			return;
+		}
+		final LinterRuleStore ruleStore = loadRuleStore(root, ruleLoader);
+		initRules(ruleStore);
+	}
+
+	private RuleCore loadRuleCore(final LinterRuleLoader ruleLoader) {
+		return options.isSharedRules() ? RuleCore.getShared(ruleLoader, stats) : RuleCore.load(ruleLoader);
+	}
+
+	/**
+	 * Use the rules of a core with the field binding of this root.
+	 */
+	private LinterRuleStore bindRuleCore(final RuleCore core) {
+		if (!options.isLazyFields()) {
+			fieldBinding.bindAll(core.getStore());
+		}
+		return core.getStore();
+	}
+
+	/**
+	 * Load the Android SDK rules now and publish the rules of each repository in index order from a
+	 * background thread once loaded.
+	 */
+	private void initTieredRules(final LinterRuleLoader ruleLoader) {
+		if (options.isScanCallers() || options.isSelectiveLoad()) {
+			LOG.warn("Linter options scan-callers and selective-load are not used with the TIERED rule store");
+		}
+		configureLoader(ruleLoader);
+		final long start = System.nanoTime();
+		final List<String> repositories = ruleLoader.loadSdkTier();
+		ruleLoader.mapTierConstants(root, ruleLoader.getLinterRules());
+		publishTier(ruleLoader, "Android SDK", ruleLoader.getLinterRules(), start);
+		tierThread = new Thread(() -> {
+			try {
+				for (final String repo : repositories) {
+					final Map<String, List<LinterRule<?>>> tierRules = ruleLoader.loadRepositoryTier(repo);
+					if (Thread.currentThread().isInterrupted()) {
+						return;
+					}
+					ruleLoader.mapTierConstants(root, tierRules);
+					publishTier(ruleLoader, repo, tierRules, start);
+				}
+			} catch (final RuntimeException e) {
+				LOG.error("Failed to load linter rule tiers, continuing with the loaded tiers", e);
+			}
+		}, "android-linter-tiers");
+		tierThread.setDaemon(true);
+		tierThread.start();
+	}
+
+	private void publishTier(final LinterRuleLoader ruleLoader, final String tier, final Map<String, List<LinterRule<?>>> tierRules,
+			final long start) {
+		final Map<String, List<LinterRule<?>>> linterRules = ruleLoader.getLinterRules();
+		if (tierStore == null) {
+			tierStore = new HeapRuleStore(linterRules);
+			activeRules = new RuleSet(root, tierStore);
+		} else {
+			// only the signatures of the tier are indexed, with the rules of earlier tiers
+			final Map<String, List<LinterRule<?>>> changedRules = new HashMap<>();
+			for (final String signature : tierRules.keySet()) {
+				changedRules.put(signature, linterRules.get(signature));
+			}
+			tierStore = tierStore.withRules(changedRules);
+			activeRules = activeRules.withTier(tierStore, tierRules.keySet());
+		}
+		final Set<String> sources = new HashSet<>();
+		for (final List<LinterRule<?>> signatureRules : tierRules.values()) {
+			for (final LinterRule<?> rule : signatureRules) {
+				if (rule != null) {
+					sources.add(rule.getSource());
+				}
+			}
+		}
+		stats.recordTier(tier, System.nanoTime() - start, tierStore.size(), sources);
+		LOG.debug("Linter rule tier {} published: {} signatures, {} rule sources", tier, tierStore.size(), sources.size());
+	}
+
+	/**
+	 * Set up the rules loaded in the background, run without rules if loading failed or timed out.
+	 */
+	private void awaitRules() {
+		if (rulesFuture == null) {
+			return;
+		}
+		synchronized (this) {
+			final Future<RuleCore> future = rulesFuture;
+			if (future == null) {
+				return;
+			}
+			final long start = System.nanoTime();
+			final RuleCore core = waitForRules(future);
+			stats.recordLoadWait(System.nanoTime() - start);
+			if (core == null) {
+				rulesMissing = true;
+				initRules(new HeapRuleStore(Map.of()));
+			} else {
+				initRules(bindRuleCore(core));
+			}
+			rulesFuture = null;
+		}
+	}
+
+	private RuleCore waitForRules(final Future<RuleCore> future) {
+		try {
+			final int timeout = options.getLoadTimeout();
+			return timeout > 0 ? future.get(timeout, TimeUnit.SECONDS) : future.get();
+		} catch (final TimeoutException e) {
+			future.cancel(true);
+			LOG.warn("Linter rules not loaded within {} s, continuing without rules", options.getLoadTimeout());
+		} catch (final ExecutionException e) {
+			LOG.error("Failed to load linter rules, continuing without rules", e.getCause());
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			LOG.warn("Interrupted while waiting for linter rules, continuing without rules");
+		}
+		return null;
+	}
+
+	private void initRules(final LinterRuleStore linterRules) {
+		this.activeRules = new RuleSet(root, linterRules);
+		if (options.isScanCallers()) {
+			this.ruleCallers = RuleCallerScan.scan(root, this::hasRules);
+		}
+		LOG.debug("{} linter rules loaded", linterRules.size());
+	}
+
+	private void configureLoader(final LinterRuleLoader ruleLoader) {
+		ruleLoader.setStats(stats);
+		ruleLoader.setLoadThreads(options.getLoadThreads());
+		ruleLoader.setLazyFields(options.isLazyFields());
+	}
+
+	private LinterRuleStore loadRuleStore(final RootNode root, final LinterRuleLoader ruleLoader) {
+		configureLoader(ruleLoader);
+		if (options.getRuleStoreMode() == LinterOptions.RuleStoreMode.MAPPED) {
+			final long start = System.nanoTime();
+			final LinterRuleStore mappedStore = MappedRuleStore.open(ruleLoader, root);
+			if (mappedStore != null) {
+				stats.recordLoad("mapped", System.nanoTime() - start);
+				return mappedStore;
+			}
+			LOG.warn("Memory-mapped linter rule store not available, loading rules into memory");
+		} else if (options.getRuleStoreMode() == LinterOptions.RuleStoreMode.PAGED) {
+			final long start = System.nanoTime();
+			final PagedRuleStore pagedStore = PagedRuleStore.open(ruleLoader, root);
+			if (pagedStore != null) {
+				stats.recordLoad("paged", System.nanoTime() - start);
+				LOG.debug("Linter rule store with {} package segments", pagedStore.getSegmentCount());
+				return pagedStore;
+			}
+			LOG.warn("Paged linter rule store not available, loading rules into memory");
+		}
+		if (options.isSelectiveLoad()) {
+			ruleLoader.setRuleFilter(RuleFilter.scan(root));
+		} else if (options.isSharedRules()) {
+			return bindRuleCore(RuleCore.getShared(ruleLoader, stats));
+		}
 		ruleLoader.loadRulesAndConstants();
 		ruleLoader.mapConstants();
-		this.linterRules = ruleLoader.getLinterRules();
-		LOG.debug("{} linter rules loaded", this.linterRules.size());
+		return new HeapRuleStore(ruleLoader.getLinterRules());
+	}
+
+	/**
+	 * Prefilter counters, available after init.
+	 */
+	RulePrefilter getPrefilter() {
+		return activeRules.getPrefilter();
+	}
+
+	/**
+	 * Dependencies detected by matched rules, complete after decompilation.
+	 */
+	DependencyEvidence getDependencies() {
+		return dependencies;
+	}
+
+	LinterStats getStats() {
+		return stats;
+	}
+
+	/**
+	 * Called when the decompiler is closed, after all classes are processed.
+	 */
+	void unload() {
+		final Future<RuleCore> future = rulesFuture;
+		if (future != null) {
+			// nothing was decompiled
+			future.cancel(true);
+			rulesFuture = null;
+			return;
+		}
+		if (tierThread != null) {
+			tierThread.interrupt();
+		}
+		if (root == null) {
+			return;
+		}
+		if (options.isWriteReport()) {
+			writeStatsReport();
+		}
+	}
+
+	/**
+	 * Write the stats report into the jadx output directory.
+	 */
+	private void writeStatsReport() {
+		final File outDir = root.getArgs().getOutDir();
+		if (outDir == null) {
+			LOG.debug("No output directory set, skip writing linter report");
+			return;
+		}
+		final File reportFile = new File(outDir, LinterStats.REPORT_FILE);
+		try {
+			Files.createDirectories(outDir.toPath());
+			final RuleSet ruleSet = activeRules;
+			stats.writeReport(reportFile, ruleSet.getPrefilter(), ruleSet.getStore());
+			LOG.info("Linter report written to {}", reportFile);
+		} catch (final IOException e) {
+			LOG.warn("Failed to write linter report {}", reportFile, e);
+		}
 	}
 
 	@Override
@@ -81,68 +368,153 @@ public class AndroidLinterPass implements JadxDecompilePass {
 		if (mth.isNoCode()) {
 			return;
 		}
+		awaitRules();
+		if (ruleCallers != null && !ruleCallers.contains(mth.getMethodInfo())) {
+			return;
+		}
+		final long start = System.nanoTime();
 		process(mth);
+		stats.recordMethod(System.nanoTime() - start);
 	}
 
 	public void process(final MethodNode mth) {
-		final List<InsnNode> toRemove = new ArrayList<>();
+		final LinterMethodEvent event = new LinterMethodEvent();
+		event.begin();
+		final List<RuleMatch> matches = new ArrayList<>();
+		final int insnCount = collectMatches(mth, activeRules, matches);
+		int removed = 0;
+		if (insnCount == -1) {
+			// nothing was changed yet, leave the method as is
+			stats.recordBudgetExceeded();
+			mth.addWarnComment("Android linter skipped this method, it exceeds the linter work budget");
+		} else {
+			removed = applyMatches(mth, matches);
+		}
+		event.end();
+		if (event.shouldCommit()) {
+			event.method = mth.getMethodInfo().getFullId();
+			event.instructions = insnCount;
+			event.ruleHits = matches.size();
+			event.removedConstants = removed;
+			event.budgetExceeded = insnCount == -1;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Find invoke arguments with rules without changing the method.
+	 *
+	 * @return number of visited instructions or -1 if the method exceeds the instruction or time budget
+	 */
+	private int collectMatches(final MethodNode mth, final RuleSet ruleSet, final List<RuleMatch> matches) {
+		final int maxInsns = options.getMethodInsnBudget();
+		final long timeBudget = TimeUnit.MILLISECONDS.toNanos(options.getMethodTimeBudget());
+		final long start = timeBudget > 0 ? System.nanoTime() : 0;
+		int insnCount = 0;
 		for (final BlockNode block : mth.getBasicBlocks()) {
-			toRemove.clear();
 			for (final InsnNode insn : block.getInstructions()) {
-				checkInsn(mth, insn, toRemove);
+				insnCount++;
+				if (maxInsns > 0 && insnCount > maxInsns) {
+					return -1;
+				}
+				if (timeBudget > 0 && (insnCount & TIME_CHECK_MASK) == 0 && System.nanoTime() - start > timeBudget) {
+					return -1;
+				}
+				checkInsn(ruleSet, block, insn, matches);
+			}
+		}
+		return insnCount;
+	}
+
+	/**
+	 * Apply the collected matches in instruction order.
+	 *
+	 * @return number of removed constant instructions
+	 */
+	private int applyMatches(final MethodNode mth, final List<RuleMatch> matches) {
+		// a constant can feed several constrained arguments, remove it only once
+		final Set<InsnNode> toRemove = Collections.newSetFromMap(new IdentityHashMap<>());
+		int removed = 0;
+		BlockNode block = null;
+		for (final RuleMatch match : matches) {
+			if (match.block != block) {
+				if (block != null) {
+					removed += removeInsns(mth, block, toRemove);
+				}
+				block = match.block;
 			}
-			InsnRemover.removeAllAndUnbind(mth, block, toRemove);
+			probeRule(mth, toRemove, match.invokeNode, match.rule, match.regArg);
 		}
+		if (block != null) {
+			removed += removeInsns(mth, block, toRemove);
+		}
+		return removed;
+	}
+
+	private static int removeInsns(final MethodNode mth, final BlockNode block, final Set<InsnNode> toRemove) {
+		final int count = toRemove.size();
+		InsnRemover.removeAllAndUnbind(mth, block, new ArrayList<>(toRemove));
+		toRemove.clear();
+		return count;
 	}
 
-	private void checkInsn(final MethodNode mth, final InsnNode insn, final List<InsnNode> toRemove) {
+	private void checkInsn(final RuleSet ruleSet, final BlockNode block, final InsnNode insn, final List<RuleMatch> matches) {
 		if (insn.getType() == InsnType.INVOKE) {
 			final InvokeNode invokeNode = (InvokeNode) insn;
 			final MethodInfo callMth = invokeNode.getCallMth();
-			final ClassInfo classNode = callMth.getDeclClass();
-
-			final Set<String> classList = new HashSet<>();
-			classList.add(classNode.getFullName());
-			for (final String superType : root.getClsp().getSuperTypes(classNode.getFullName())) {
-				classList.add(superType.replace('$', '.'));
+			final RulePrefilter prefilter = ruleSet.getPrefilter();
+			if (!prefilter.checkMethod(callMth.getName())) {
+				return;
 			}
-
-			for (final String superClass : classList) {
-				final String methodKey = buildMethodKey(superClass, callMth);
-				if (checkForRules(mth, toRemove, invokeNode, methodKey)) {
+			final List<String> ruleClasses = ruleSet.getResolver().getRuleClasses(callMth.getDeclClass());
+			if (ruleClasses.isEmpty()) {
+				prefilter.recordFalsePositive();
+				return;
+			}
+			final String methodProto = getMethodProto(callMth);
+			for (final String superClass : ruleClasses) {
+				if (checkForRules(ruleSet.getStore(), block, invokeNode, superClass, methodProto, matches)) {
 					return;
 				}
 			}
 		}
 	}
 
-	private boolean checkForRules(final MethodNode mth, final List<InsnNode> toRemove, final InvokeNode invokeNode,
-			final String methodKey) {
-		if (linterRules.containsKey(methodKey)) {
-			final List<LinterRule<?>> rules = linterRules.get(methodKey);
-			if (rules != null) {
-				return probeRules(mth, rules, toRemove, invokeNode);
-			}
+	private static boolean checkForRules(final LinterRuleStore linterRules, final BlockNode block, final InvokeNode invokeNode,
+			final String className, final String methodProto, final List<RuleMatch> matches) {
+		final ArgumentRules rules = linterRules.getArgumentRules(className, methodProto);
+		if (rules != null) {
+			return collectRules(block, className, rules, invokeNode, matches);
 		}
 		return false;
 	}
 
-	private boolean probeRules(final MethodNode mth, List<LinterRule<?>> rules, final List<InsnNode> toRemove,
-			final InvokeNode invokeNode) {
-		for (final LinterRule<?> rule : rules) {
-			int i = 0;
-			for (final InsnArg arg : invokeNode.getArguments()) {
-				if (rule.getArgumentOffset() + 1 == i && arg instanceof RegisterArg) {
-					return probeRule(mth, toRemove, invokeNode, rule, (RegisterArg) arg);
-				}
-				i++;
+	/**
+	 * Collect the rule of every constrained register argument of the invoke.
+	 *
+	 * @return true if at least one argument has a rule
+	 */
+	private static boolean collectRules(final BlockNode block, final String className, final ArgumentRules rules,
+			final InvokeNode invokeNode, final List<RuleMatch> matches) {
+		final int argsCount = invokeNode.getArgsCount();
+		boolean found = false;
+		for (int i = 0; i < rules.getArgCount(); i++) {
+			final int argIndex = rules.getArgIndex(i);
+			if (argIndex >= argsCount) {
+				break;
+			}
+			final InsnArg arg = invokeNode.getArg(argIndex);
+			if (arg instanceof RegisterArg) {
+				matches.add(new RuleMatch(block, invokeNode, className, argIndex, rules.get(argIndex), (RegisterArg) arg));
+				found = true;
 			}
 		}
-		return false;
+		return found;
 	}
 
-	private boolean probeRule(final MethodNode mth, final List<InsnNode> toRemove, final InvokeNode invokeNode,
+	private void probeRule(final MethodNode mth, final Set<InsnNode> toRemove, final InvokeNode invokeNode,
 			final LinterRule<?> rule, final RegisterArg regArg) {
+		stats.recordHit(rule);
 		final SSAVar sVar = regArg.getSVar();
 		final InsnNode parentInsn = sVar.getAssign().getParentInsn();
 		if (parentInsn != null) {
@@ -154,7 +526,7 @@ public class AndroidLinterPass implements JadxDecompilePass {
 					final InsnNode copy = parentInsn.copyWithoutResult();
 					insnArg = InsnArg.wrapArg(copy);
 				} else {
-					return false;
+					return;
 				}
 			}
 
@@ -163,17 +535,45 @@ public class AndroidLinterPass implements JadxDecompilePass {
 				toRemove.add(parentInsn);
 			}
 			final String source = rule.getSource();
-			if (!source.equals("Android SDK") && !dependencies.contains(source)) {
+			if (!source.equals("Android SDK")
+					&& dependencies.record(source, mth.getMethodInfo().getFullId(), rule.getMethodSignature())) {
 				LOG.info("Detected dependency: {}", source);
-				dependencies.add(source);
 			}
 		}
-		return true;
 	}
 
-	private static String buildMethodKey(final String fullName, final MethodInfo callMth) {
+	private boolean hasRules(final MethodInfo callMth) {
+		final RuleSet ruleSet = activeRules;
+		if (!ruleSet.getPrefilter().mightHaveMethod(callMth.getName())) {
+			return false;
+		}
+		final List<String> ruleClasses = ruleSet.getResolver().getRuleClasses(callMth.getDeclClass());
+		if (ruleClasses.isEmpty()) {
+			return false;
+		}
+		final String methodProto = getMethodProto(callMth);
+		for (final String className : ruleClasses) {
+			if (ruleSet.getStore().getArgumentRules(className, methodProto) != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Method part of the rule signature, memoized as {@link MethodInfo} instances are interned by jadx.
+	 */
+	private String getMethodProto(final MethodInfo callMth) {
+		final String methodProto = methodProtos.get(callMth);
+		if (methodProto != null) {
+			return methodProto;
+		}
+		return methodProtos.computeIfAbsent(callMth, AndroidLinterPass::buildMethodProto);
+	}
+
+	private static String buildMethodProto(final MethodInfo callMth) {
 		final StringBuilder sb = new StringBuilder();
-		sb.append(fullName).append(' ').append(callMth.getReturnType().toString()).append(' ').append(callMth.getName()).append('(');
+		sb.append(callMth.getReturnType().toString()).append(' ').append(callMth.getName()).append('(');
 		for (int i = 0; i < callMth.getArgumentsTypes().size(); i++) {
 			final ArgType argType = callMth.getArgumentsTypes().get(i);
 			sb.append(argType.toString());
@@ -185,7 +585,7 @@ public class AndroidLinterPass implements JadxDecompilePass {
 		return sb.toString();
 	}
 
-	private static boolean replaceConst(final MethodNode mth, final RegisterArg arg, final InsnNode constInsn, final InsnArg constArg,
+	private boolean replaceConst(final MethodNode mth, final RegisterArg arg, final InsnNode constInsn, final InsnArg constArg,
 			final InsnNode useInsn, final LinterRule<?> rule) {
 		final SSAVar ssaVar = constInsn.getResult().getSVar();
 		if (ssaVar.getUseCount() == 0) {
@@ -208,7 +608,7 @@ public class AndroidLinterPass implements JadxDecompilePass {
 		return false;
 	}
 
-	private static boolean replaceArg(final MethodNode mth, final RegisterArg arg, final InsnArg constArg, final InsnNode constInsn,
+	private boolean replaceArg(final MethodNode mth, final RegisterArg arg, final InsnArg constArg, final InsnNode constInsn,
 			final InsnNode useInsn, final LinterRule<?> rule) {
 		if (constArg.isLiteral()) {
 			final long literal = ((LiteralArg) constArg).getLiteral();
@@ -225,13 +625,10 @@ public class AndroidLinterPass implements JadxDecompilePass {
 			IFieldInfoRef fieldNode = null;
 			switch (rule.getType()) {
 				case LONG_DEF:
-					fieldNode = rule.getValueToReference().get(litArg.getLiteral());
+					fieldNode = rule.getConstants().get(litArg.getLiteral());
 					break;
 				case INT_DEF:
-					if (rule.getValueToReference() == null) {
-						System.out.println("Debug here");
-					}
-					fieldNode = rule.getValueToReference().get((int) litArg.getLiteral());
+					fieldNode = rule.getConstants().get((int) litArg.getLiteral());
 					break;
 			}
 
@@ -240,32 +637,38 @@ public class AndroidLinterPass implements JadxDecompilePass {
 				if (!useInsn.replaceArg(arg, litArg)) {
 					return false;
 				}
-				final IndexInsnNode sgetInsn = new IndexInsnNode(InsnType.SGET, fieldNode.getFieldInfo(), 0);
+				final IndexInsnNode sgetInsn = new IndexInsnNode(InsnType.SGET, fieldBinding.getFieldInfo(fieldNode), 0);
 				if (litArg.wrapInstruction(mth, sgetInsn) != null) {
 					ModVisitor.addFieldUsage(fieldNode, mth);
 				}
 				useInsn.inheritMetadata(constInsn);
+				stats.recordReplacement(rule);
 				return true;
 			} else {
-				if (rule.isFlag()) { // perform constant unfolding
-					unfoldConstantToORedInts(useInsn, rule, litArg);
+				if (rule.isFlag() && rule.getConstants() instanceof NumericRuleConstants) { // perform constant unfolding
+					unfoldConstantToORedInts(useInsn, (NumericRuleConstants) rule.getConstants(), litArg);
+					stats.recordUnfold(rule);
+				} else {
+					stats.recordUnmatched(rule);
 				}
 				return false;
 			}
 		} else {
 			final String str = ((ConstStringNode) constInsn).getString();
-			final IFieldInfoRef fieldNode = rule.getValueToReference().get(str);
+			final IFieldInfoRef fieldNode = rule.getConstants().get(str);
 			if (fieldNode != null) {
-				final IndexInsnNode sgetInsn = new IndexInsnNode(InsnType.SGET, fieldNode.getFieldInfo(), 0);
+				final IndexInsnNode sgetInsn = new IndexInsnNode(InsnType.SGET, fieldBinding.getFieldInfo(fieldNode), 0);
 				final InsnArg stringLitArg = InsnArg.wrapArg(sgetInsn);
 				if (useInsn.replaceArg(arg, stringLitArg)) {
 					ModVisitor.addFieldUsage(fieldNode, mth);
+					stats.recordReplacement(rule);
 					return true;
 				} else {
 					LOG.warn("Linter pass could not replace constant");
 					return false;
 				}
 			} else {
+				stats.recordUnmatched(rule);
 				LOG.debug("Linter rule not respected"); // Might be a false positive as we skip items without a constant identifier (having
 														// just a numeric value)
 				return false;
@@ -273,24 +676,10 @@ public class AndroidLinterPass implements JadxDecompilePass {
 		}
 	}
 
-	private static void unfoldConstantToORedInts(final InsnNode useInsn, final LinterRule<?> rule, LiteralArg litArg) {
-		final List<String> constList = new ArrayList<>();
+	private static void unfoldConstantToORedInts(final InsnNode useInsn, final NumericRuleConstants flags, LiteralArg litArg) {
 		final long constantValue = litArg.getLiteral();
-		long combinedValue = 0;
-
-		for (final Map.Entry<?, IFieldInfoRef> flag : rule.getValueToReference().entrySet()) {
-			long flagValue = Long.parseLong(flag.getKey().toString());
-			if ((constantValue & flagValue) != 0) {
-				constList.add(flag.getValue().getFieldInfo().getName());
-				combinedValue |= flagValue;
-			}
-		}
-		if (constantValue != combinedValue) { // not all flags must be symbols, linter rules allow numeric values too
-			constList.add(String.valueOf(constantValue & combinedValue));
-		}
-
 		// TODO insert insn nodes for constant expression and remove comment
-		final String commentString = constantValue + " = (" + String.join(" | ", constList) + ")";
+		final String commentString = constantValue + " = (" + flags.getFlagMasks().unfold(constantValue) + ")";
 		final ICodeComment comment = new JadxCodeComment(null, commentString);
 		useInsn.addAttr(AType.CODE_COMMENTS, new CodeComment(comment));
 	}
@@ -323,4 +712,26 @@ public class AndroidLinterPass implements JadxDecompilePass {
 		}
 		return parentInsn.contains(AFlag.DONT_GENERATE);
 	}
+
+	/**
+	 * Register argument of an invoke with a rule, applied after all matches of a method are found.
+	 */
+	private static final class RuleMatch {
+		private final BlockNode block;
+		private final InvokeNode invokeNode;
+		private final String ruleClass;
+		private final int argIndex;
+		private final LinterRule<?> rule;
+		private final RegisterArg regArg;
+
+		RuleMatch(final BlockNode block, final InvokeNode invokeNode, final String ruleClass, final int argIndex, final LinterRule<?> rule,
+				final RegisterArg regArg) {
+			this.block = block;
+			this.invokeNode = invokeNode;
+			this.ruleClass = ruleClass;
+			this.argIndex = argIndex;
+			this.rule = rule;
+			this.regArg = regArg;
+		}
+	}
 }
@@ -0,0 +1,83 @@
+package jadx.plugins.linter;
+
+import java.util.List;
+
+/**
+ * Rules of one method signature indexed by the invoke argument they apply to.
+ * <p>
+ * The invoke argument index of a rule is its argument offset plus one. If several rules apply to the
+ * same argument, the first one is used.
+ */
+final class ArgumentRules {
+
+	private static final int[] NO_ARGS = new int[0];
+
+	private final List<LinterRule<?>> rules;
+	private final LinterRule<?>[] byArg;
+	// ascending invoke argument indexes with a rule
+	private final int[] argIndexes;
+
+	private ArgumentRules(final List<LinterRule<?>> rules, final LinterRule<?>[] byArg, final int[] argIndexes) {
+		this.rules = rules;
+		this.byArg = byArg;
+		this.argIndexes = argIndexes;
+	}
+
+	static ArgumentRules of(final List<LinterRule<?>> rules) {
+		int maxIndex = -1;
+		for (final LinterRule<?> rule : rules) {
+			if (rule != null) {
+				maxIndex = Math.max(maxIndex, rule.getArgumentOffset() + 1);
+			}
+		}
+		if (maxIndex == -1) {
+			return new ArgumentRules(rules, new LinterRule<?>[0], NO_ARGS);
+		}
+		final LinterRule<?>[] byArg = new LinterRule<?>[maxIndex + 1];
+		int count = 0;
+		for (final LinterRule<?> rule : rules) {
+			if (rule == null) {
+				continue;
+			}
+			final int argIndex = rule.getArgumentOffset() + 1;
+			if (argIndex >= 0 && byArg[argIndex] == null) {
+				byArg[argIndex] = rule;
+				count++;
+			}
+		}
+		final int[] argIndexes = new int[count];
+		int idx = 0;
+		for (int i = 0; i < byArg.length; i++) {
+			if (byArg[i] != null) {
+				argIndexes[idx++] = i;
+			}
+		}
+		return new ArgumentRules(rules, byArg, argIndexes);
+	}
+
+	/**
+	 * @return all rules of the signature in their original order
+	 */
+	List<LinterRule<?>> getRules() {
+		return rules;
+	}
+
+	/**
+	 * @return rule for the invoke argument index or null
+	 */
+	LinterRule<?> get(final int argIndex) {
+		return argIndex >= 0 && argIndex < byArg.length ? byArg[argIndex] : null;
+	}
+
+	int getArgCount() {
+		return argIndexes.length;
+	}
+
+	/**
+	 * @param idx index between 0 and {@link #getArgCount()}
+	 * @return invoke argument index, ascending with {@code idx}
+	 */
+	int getArgIndex(final int idx) {
+		return argIndexes[idx];
+	}
+}
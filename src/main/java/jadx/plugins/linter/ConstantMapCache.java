@@ -0,0 +1,48 @@
+package jadx.plugins.linter;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+import jadx.core.dex.nodes.RootNode;
+
+/**
+ * Rule constants keyed by rule type and constant list, so every distinct constant set is built once
+ * and shared read-only by all rules using it.
+ */
+final class ConstantMapCache {
+
+	private final Map<DefTypes, Map<String, RuleConstants>> maps = new EnumMap<>(DefTypes.class);
+	private final BiFunction<String, String, String> constantValues;
+	private final RootNode root;
+	private final boolean lazyFields;
+
+	ConstantMapCache(final BiFunction<String, String, String> constantValues, final RootNode root, final boolean lazyFields) {
+		this.constantValues = constantValues;
+		this.root = root;
+		this.lazyFields = lazyFields;
+		for (final DefTypes type : DefTypes.values()) {
+			maps.put(type, new ConcurrentHashMap<>());
+		}
+	}
+
+	void apply(final LinterRule<?> rule) {
+		final String constantList = rule.getConstantListString();
+		if (constantList == null) {
+			// nothing to share, only logs the missing list
+			rule.buildConstants(constantValues, root, lazyFields);
+			return;
+		}
+		rule.setConstants(maps.get(rule.getType()).computeIfAbsent(constantList,
+				l -> rule.buildConstants(constantValues, root, lazyFields)));
+	}
+
+	int size() {
+		int size = 0;
+		for (final Map<String, RuleConstants> typeMaps : maps.values()) {
+			size += typeMaps.size();
+		}
+		return size;
+	}
+}
@@ -0,0 +1,203 @@
+package jadx.plugins.linter;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Constant values grouped by declaring class.
+ * <p>
+ * Class names are interned and each class keeps its sorted field names in a single string next to
+ * the values. Numeric values are stored as primitive longs, only values which are not plain numbers are
+ * kept as strings. Constants are collected in a staging map first and compacted on first lookup or
+ * by calling {@link #compact()}.
+ */
+final class ConstantTable {
+
+	private final Map<String, ClassConstants> classes = new HashMap<>();
+
+	private Map<String, Map<String, String>> staging = new HashMap<>();
+
+	/**
+	 * Add a constant by its fully qualified name, replacing any previous value.
+	 */
+	void put(final String fullConstantName, final String value) {
+		final int idx = fullConstantName.lastIndexOf('.');
+		final String className = idx == -1 ? "" : fullConstantName.substring(0, idx);
+		final String constantName = fullConstantName.substring(idx + 1);
+		if (staging == null) {
+			staging = new HashMap<>();
+		}
+		staging.computeIfAbsent(className, c -> new HashMap<>()).put(constantName, value);
+	}
+
+	void putAll(final Map<String, String> constants) {
+		for (final Map.Entry<String, String> entry : constants.entrySet()) {
+			put(entry.getKey(), entry.getValue());
+		}
+	}
+
+	/**
+	 * @return constant value by its fully qualified name or null if unknown
+	 */
+	String get(final String fullConstantName) {
+		final int idx = fullConstantName.lastIndexOf('.');
+		if (idx == -1) {
+			return get("", fullConstantName);
+		}
+		return get(fullConstantName.substring(0, idx), fullConstantName.substring(idx + 1));
+	}
+
+	String get(final String className, final String constantName) {
+		compact();
+		final ClassConstants constants = classes.get(className);
+		return constants == null ? null : constants.get(constantName);
+	}
+
+	int size() {
+		compact();
+		int size = 0;
+		for (final ClassConstants constants : classes.values()) {
+			size += constants.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Iterate all constants with their fully qualified names, used to store them.
+	 */
+	void forEach(final BiConsumer<String, String> consumer) {
+		compact();
+		for (final Map.Entry<String, ClassConstants> entry : classes.entrySet()) {
+			final String prefix = entry.getKey().isEmpty() ? "" : entry.getKey() + '.';
+			final ClassConstants constants = entry.getValue();
+			for (int i = 0; i < constants.size(); i++) {
+				consumer.accept(prefix + constants.getName(i), constants.getValue(i));
+			}
+		}
+	}
+
+	Map<String, String> toMap() {
+		final Map<String, String> map = new HashMap<>();
+		forEach(map::put);
+		return map;
+	}
+
+	/**
+	 * Move staged constants into the compact per-class tables.
+	 */
+	void compact() {
+		if (staging == null) {
+			return;
+		}
+		for (final Map.Entry<String, Map<String, String>> entry : staging.entrySet()) {
+			final String className = entry.getKey().intern();
+			final ClassConstants existing = classes.get(className);
+			final Map<String, String> values;
+			if (existing == null) {
+				values = entry.getValue();
+			} else {
+				values = new HashMap<>(existing.size() + entry.getValue().size());
+				for (int i = 0; i < existing.size(); i++) {
+					values.put(existing.getName(i), existing.getValue(i));
+				}
+				values.putAll(entry.getValue());
+			}
+			classes.put(className, ClassConstants.build(values));
+		}
+		staging = null;
+	}
+
+	private static final class ClassConstants {
+		// sorted constant names concatenated into one string, with the end offset of each name
+		private final String names;
+		private final int[] nameEnds;
+		private final long[] values;
+		// only allocated if some values are not numbers, null entries for numeric values
+		private final String[] stringValues;
+
+		private ClassConstants(final String names, final int[] nameEnds, final long[] values, final String[] stringValues) {
+			this.names = names;
+			this.nameEnds = nameEnds;
+			this.values = values;
+			this.stringValues = stringValues;
+		}
+
+		static ClassConstants build(final Map<String, String> constants) {
+			final String[] sortedNames = constants.keySet().toArray(new String[0]);
+			Arrays.sort(sortedNames);
+			final StringBuilder names = new StringBuilder();
+			final int[] nameEnds = new int[sortedNames.length];
+			final long[] values = new long[sortedNames.length];
+			String[] stringValues = null;
+			for (int i = 0; i < sortedNames.length; i++) {
+				names.append(sortedNames[i]);
+				nameEnds[i] = names.length();
+				final String value = constants.get(sortedNames[i]);
+				final Long longValue = RuleBundle.parseCanonicalLong(value);
+				if (longValue != null) {
+					values[i] = longValue;
+				} else {
+					if (stringValues == null) {
+						stringValues = new String[sortedNames.length];
+					}
+					stringValues[i] = value;
+				}
+			}
+			return new ClassConstants(names.toString(), nameEnds, values, stringValues);
+		}
+
+		int size() {
+			return nameEnds.length;
+		}
+
+		String get(final String constantName) {
+			int low = 0;
+			int high = nameEnds.length - 1;
+			while (low <= high) {
+				final int mid = (low + high) >>> 1;
+				final int cmp = compareName(mid, constantName);
+				if (cmp < 0) {
+					low = mid + 1;
+				} else if (cmp > 0) {
+					high = mid - 1;
+				} else {
+					return getValue(mid);
+				}
+			}
+			return null;
+		}
+
+		String getName(final int idx) {
+			return names.substring(getNameStart(idx), nameEnds[idx]);
+		}
+
+		String getValue(final int idx) {
+			if (stringValues != null && stringValues[idx] != null) {
+				return stringValues[idx];
+			}
+			return Long.toString(values[idx]);
+		}
+
+		private int getNameStart(final int idx) {
+			return idx == 0 ? 0 : nameEnds[idx - 1];
+		}
+
+		/**
+		 * Same order as {@link String#compareTo(String)}.
+		 */
+		private int compareName(final int idx, final String name) {
+			final int start = getNameStart(idx);
+			final int len = nameEnds[idx] - start;
+			final int n = Math.min(len, name.length());
+			for (int i = 0; i < n; i++) {
+				final int cmp = names.charAt(start + i) - name.charAt(i);
+				if (cmp != 0) {
+					return cmp;
+				}
+			}
+			return len - name.length();
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package jadx.plugins.linter;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rule sources (libraries) detected while decompiling, with the evidence found for each of them.
+ * <p>
+ * Safe to use from all decompilation threads without a global lock: sources are kept in a concurrent
+ * map, hits are counted with a {@link LongAdder} and the first call site is set once.
+ */
+final class DependencyEvidence {
+
+	private final Map<String, Evidence> sources = new ConcurrentHashMap<>();
+
+	/**
+	 * Record a rule match.
+	 *
+	 * @param source    source of the matched rule
+	 * @param callSite  method containing the matched invoke
+	 * @param signature signature of the matched rule
+	 * @return true if this is the first evidence for the source
+	 */
+	boolean record(final String source, final String callSite, final String signature) {
+		Evidence evidence = sources.get(source);
+		if (evidence == null) {
+			evidence = sources.computeIfAbsent(source, s -> new Evidence());
+		}
+		evidence.hits.increment();
+		evidence.signatures.add(signature);
+		return evidence.firstCallSite.compareAndSet(null, callSite);
+	}
+
+	/**
+	 * @return detected sources, a live view which is complete after decompilation
+	 */
+	Set<String> getSources() {
+		return Collections.unmodifiableSet(sources.keySet());
+	}
+
+	/**
+	 * @return evidence for the source or null if it wasn't detected
+	 */
+	Evidence get(final String source) {
+		return sources.get(source);
+	}
+
+	static final class Evidence {
+		private final LongAdder hits = new LongAdder();
+		private final AtomicReference<String> firstCallSite = new AtomicReference<>();
+		private final Set<String> signatures = ConcurrentHashMap.newKeySet();
+
+		long getHitCount() {
+			return hits.sum();
+		}
+
+		/**
+		 * @return method of the first recorded match, in thread scheduling order
+		 */
+		String getFirstCallSite() {
+			return firstCallSite.get();
+		}
+
+		Set<String> getSignatures() {
+			return Collections.unmodifiableSet(signatures);
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package jadx.plugins.linter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jadx.core.dex.info.FieldInfo;
+import jadx.core.dex.nodes.IFieldInfoRef;
+import jadx.core.dex.nodes.RootNode;
+
+/**
+ * Field infos of rule constants in one decompiler. Field references of the shared {@link RuleCore}
+ * are not bound to a root, they are resolved here on first use and cached per reference.
+ */
+final class FieldBinding {
+
+	private final RootNode root;
+	private final Map<LazyFieldInfoRef, FieldInfo> fields = new ConcurrentHashMap<>();
+
+	FieldBinding(final RootNode root) {
+		this.root = root;
+	}
+
+	FieldInfo getFieldInfo(final IFieldInfoRef fieldRef) {
+		if (fieldRef instanceof LazyFieldInfoRef) {
+			final LazyFieldInfoRef lazyRef = (LazyFieldInfoRef) fieldRef;
+			if (!lazyRef.isBound()) {
+				final FieldInfo fieldInfo = fields.get(lazyRef);
+				if (fieldInfo != null) {
+					return fieldInfo;
+				}
+				return fields.computeIfAbsent(lazyRef, r -> r.resolve(root));
+			}
+		}
+		return fieldRef.getFieldInfo();
+	}
+
+	/**
+	 * Resolve the fields of all rules now, like rules loaded without lazy fields.
+	 */
+	void bindAll(final LinterRuleStore ruleStore) {
+		ruleStore.forEachSignature(signature -> {
+			final List<LinterRule<?>> rules = ruleStore.getRules(signature);
+			if (rules == null) {
+				return;
+			}
+			for (final LinterRule<?> rule : rules) {
+				if (rule != null && rule.getConstants() != null) {
+					rule.getConstants().forEachField(this::getFieldInfo);
+				}
+			}
+		});
+	}
+
+	int size() {
+		return fields.size();
+	}
+}
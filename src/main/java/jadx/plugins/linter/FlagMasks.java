@@ -0,0 +1,93 @@
+package jadx.plugins.linter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jadx.core.dex.nodes.IFieldInfoRef;
+
+/**
+ * Non-zero flag masks of a constant list with their field names in ascending value order, and the
+ * memoized decomposition of unfolded values.
+ */
+final class FlagMasks {
+
+	// limit memory for inputs with many distinct flag literals, further values are not memoized
+	private static final int MAX_MEMO_SIZE = 4096;
+
+	private final long[] masks;
+	private final String[] names;
+	private final Map<Long, String> unfolded = new ConcurrentHashMap<>();
+
+	private FlagMasks(final long[] masks, final String[] names) {
+		this.masks = masks;
+		this.names = names;
+	}
+
+	static FlagMasks of(final NumericRuleConstants constants) {
+		int count = 0;
+		for (int i = 0; i < constants.size(); i++) {
+			if (constants.getValue(i) != 0) {
+				count++;
+			}
+		}
+		final long[] masks = new long[count];
+		final String[] names = new String[count];
+		int idx = 0;
+		for (int i = 0; i < constants.size(); i++) {
+			final long value = constants.getValue(i);
+			if (value != 0) {
+				masks[idx] = value;
+				names[idx] = getFieldName(constants.getField(i));
+				idx++;
+			}
+		}
+		return new FlagMasks(masks, names);
+	}
+
+	private static String getFieldName(final IFieldInfoRef fieldRef) {
+		if (fieldRef instanceof LazyFieldInfoRef) {
+			// the name is known without resolving the field
+			return ((LazyFieldInfoRef) fieldRef).getFieldName();
+		}
+		return fieldRef.getFieldInfo().getName();
+	}
+
+	/**
+	 * @return names of all flags set in the value, joined with " | ", followed by the remaining bits
+	 *         not covered by a flag
+	 */
+	String unfold(final long value) {
+		final String cached = unfolded.get(value);
+		if (cached != null) {
+			return cached;
+		}
+		final String result = decompose(value);
+		if (unfolded.size() < MAX_MEMO_SIZE) {
+			unfolded.put(value, result);
+		}
+		return result;
+	}
+
+	private String decompose(final long value) {
+		final StringBuilder sb = new StringBuilder();
+		long combinedValue = 0;
+		for (int i = 0; i < masks.length; i++) {
+			final long mask = masks[i];
+			if ((value & mask) != 0) {
+				if (sb.length() != 0) {
+					sb.append(" | ");
+				}
+				sb.append(names[i]);
+				combinedValue |= mask;
+			}
+		}
+		final long remaining = value & ~combinedValue;
+		if (remaining != 0 || sb.length() == 0) { // not all flags must be symbols, linter rules allow numeric values too
+			if (sb.length() != 0) {
+				sb.append(" | ");
+			}
+			sb.append(remaining);
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,102 @@
+package jadx.plugins.linter;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Rules kept on the heap, indexed by class name and method proto so lookups don't need to build the
+ * full signature, and by invoke argument for each signature.
+ */
+class HeapRuleStore implements LinterRuleStore {
+
+	private final Map<String, Map<String, ArgumentRules>> classRules;
+
+	private final int size;
+
+	public HeapRuleStore(final Map<String, List<LinterRule<?>>> linterRules) {
+		this.classRules = new HashMap<>();
+		int count = 0;
+		for (final Map.Entry<String, List<LinterRule<?>>> entry : linterRules.entrySet()) {
+			final String signature = entry.getKey();
+			final int idx = signature == null ? -1 : signature.indexOf(' ');
+			if (idx != -1) {
+				classRules.computeIfAbsent(signature.substring(0, idx), c -> new HashMap<>())
+						.put(signature.substring(idx + 1), ArgumentRules.of(entry.getValue()));
+				count++;
+			}
+		}
+		this.size = count;
+	}
+
+	private HeapRuleStore(final Map<String, Map<String, ArgumentRules>> classRules, final int size) {
+		this.classRules = classRules;
+		this.size = size;
+	}
+
+	/**
+	 * New store with the rules of another tier, sharing the method indexes of all classes without
+	 * changed signatures with this store.
+	 *
+	 * @param changedRules all rules of the signatures which got rules in the tier
+	 */
+	HeapRuleStore withRules(final Map<String, List<LinterRule<?>>> changedRules) {
+		final Map<String, Map<String, ArgumentRules>> tierClassRules = new HashMap<>(classRules);
+		final Set<String> copiedClasses = new HashSet<>();
+		int tierSize = size;
+		for (final Map.Entry<String, List<LinterRule<?>>> entry : changedRules.entrySet()) {
+			final String signature = entry.getKey();
+			final int idx = signature == null ? -1 : signature.indexOf(' ');
+			if (idx == -1) {
+				continue;
+			}
+			final String className = signature.substring(0, idx);
+			Map<String, ArgumentRules> methodRules = tierClassRules.get(className);
+			if (copiedClasses.add(className)) {
+				methodRules = methodRules == null ? new HashMap<>() : new HashMap<>(methodRules);
+				tierClassRules.put(className, methodRules);
+			}
+			if (methodRules.put(signature.substring(idx + 1), ArgumentRules.of(entry.getValue())) == null) {
+				tierSize++;
+			}
+		}
+		return new HeapRuleStore(tierClassRules, tierSize);
+	}
+
+	@Override
+	public List<LinterRule<?>> getRules(final String methodSignature) {
+		final int idx = methodSignature.indexOf(' ');
+		if (idx == -1) {
+			return null;
+		}
+		return getRules(methodSignature.substring(0, idx), methodSignature.substring(idx + 1));
+	}
+
+	@Override
+	public ArgumentRules getArgumentRules(final String className, final String methodProto) {
+		final Map<String, ArgumentRules> methodRules = classRules.get(className);
+		return methodRules == null ? null : methodRules.get(methodProto);
+	}
+
+	@Override
+	public boolean hasClassRules(final String className) {
+		return classRules.containsKey(className);
+	}
+
+	@Override
+	public void forEachSignature(final Consumer<String> consumer) {
+		for (final Map.Entry<String, Map<String, ArgumentRules>> entry : classRules.entrySet()) {
+			for (final String methodProto : entry.getValue().keySet()) {
+				consumer.accept(entry.getKey() + ' ' + methodProto);
+			}
+		}
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+}
@@ -1,6 +1,9 @@
 package jadx.plugins.linter;
 
+import java.util.Map;
+
 import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.IFieldInfoRef;
 
 class IntLinterRule extends LinterRule<Integer> {
 	public IntLinterRule(final String methodSignature, final int argumentOffset, final boolean flag, final String source,
@@ -13,6 +16,11 @@ class IntLinterRule extends LinterRule<Integer> {
 		return Integer.parseInt(value);
 	}
 
+	@Override
+	protected RuleConstants compileConstants(final Map<Integer, IFieldInfoRef> constantMap) {
+		return NumericRuleConstants.of(constantMap);
+	}
+
 	@Override
 	DefTypes getType() {
 		return DefTypes.INT_DEF;
@@ -0,0 +1,74 @@
+package jadx.plugins.linter;
+
+import jadx.core.dex.info.ClassInfo;
+import jadx.core.dex.info.FieldInfo;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.IFieldInfoRef;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+/**
+ * Field reference which is resolved in the {@link RootNode} only when a rule actually matches it,
+ * so constants never used by the input don't create class and field infos.
+ * <p>
+ * References of the shared {@link RuleCore} have no root, they are resolved by the
+ * {@link FieldBinding} of each decompiler instead.
+ */
+final class LazyFieldInfoRef implements IFieldInfoRef {
+
+	private final RootNode root;
+	private final String className;
+	private final String fieldName;
+	private final ArgType type;
+
+	private volatile FieldInfo fieldInfo;
+
+	LazyFieldInfoRef(final RootNode root, final String className, final String fieldName, final ArgType type) {
+		this.root = root;
+		this.className = className;
+		this.fieldName = fieldName;
+		this.type = type;
+	}
+
+	@Override
+	public FieldInfo getFieldInfo() {
+		FieldInfo info = fieldInfo;
+		if (info == null) {
+			if (root == null) {
+				throw new JadxRuntimeException("Field reference without root, resolve it by a field binding: " + this);
+			}
+			synchronized (this) {
+				info = fieldInfo;
+				if (info == null) {
+					info = resolve(root);
+					fieldInfo = info;
+				}
+			}
+		}
+		return info;
+	}
+
+	/**
+	 * @return field info in the root, not cached
+	 */
+	FieldInfo resolve(final RootNode root) {
+		return FieldInfo.from(root, ClassInfo.fromName(root, className), fieldName, type);
+	}
+
+	boolean isBound() {
+		return root != null;
+	}
+
+	String getFieldName() {
+		return fieldName;
+	}
+
+	boolean isResolved() {
+		return fieldInfo != null;
+	}
+
+	@Override
+	public String toString() {
+		return className + '.' + fieldName;
+	}
+}
@@ -0,0 +1,29 @@
+package jadx.plugins.linter;
+
+import java.nio.file.Path;
+
+import jadx.commons.app.JadxCommonFiles;
+
+/**
+ * Directory of the rule snapshot, "linter" in the jadx cache directory.
+ */
+final class LinterCacheDir {
+
+	// set by tests to keep the user cache directory untouched
+	private static volatile Path overrideDir = null;
+
+	private LinterCacheDir() {
+	}
+
+	static Path get() {
+		final Path dir = overrideDir;
+		return dir != null ? dir : JadxCommonFiles.getCacheDir().resolve("linter");
+	}
+
+	/**
+	 * @param dir directory to use instead of the jadx cache directory, null to reset
+	 */
+	static void set(final Path dir) {
+		overrideDir = dir;
+	}
+}
@@ -0,0 +1,42 @@
+package jadx.plugins.linter;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event for the linter pass on one method. Disabled by default, when enabled only
+ * methods over the threshold are recorded unless the recording settings lower it.
+ */
+@Name("jadx.plugins.linter.Method")
+@Label("Linter Pass Method")
+@Description("Android linter pass run on a single method")
+@Category({ "jadx", "Android Linter" })
+@Enabled(false)
+@Threshold("1 ms")
+@StackTrace(false)
+final class LinterMethodEvent extends Event {
+
+	@Label("Method")
+	String method;
+
+	@Label("Instructions")
+	int instructions;
+
+	@Label("Rule Hits")
+	@Description("Invoke arguments a rule was applied to")
+	int ruleHits;
+
+	@Label("Removed Constants")
+	@Description("Constant instructions removed as all their uses were replaced")
+	int removedConstants;
+
+	@Label("Budget Exceeded")
+	@Description("Method skipped as it exceeds the work budget, instructions are -1 in this case")
+	boolean budgetExceeded;
+}
@@ -0,0 +1,137 @@
+package jadx.plugins.linter;
+
+import jadx.api.plugins.options.impl.BasePluginOptionsBuilder;
+
+public class LinterOptions extends BasePluginOptionsBuilder {
+
+	public enum RuleStoreMode {
+		HEAP,
+		MAPPED,
+		PAGED,
+		TIERED
+	}
+
+	private RuleStoreMode ruleStoreMode;
+
+	private int loadThreads;
+
+	private boolean lazyFields;
+
+	private boolean scanCallers;
+
+	private boolean writeReport;
+
+	private int methodInsnBudget;
+
+	private int methodTimeBudget;
+
+
+	private boolean selectiveLoad;
+
+	private boolean asyncLoad;
+
+	private int loadTimeout;
+
+	private boolean sharedRules;
+
+	@Override
+	public void registerOptions() {
+		enumOption(LinterPlugin.PLUGIN_ID + ".rule-store", RuleStoreMode.values(), RuleStoreMode::valueOf)
+				.description("where linter rules are kept: HEAP - parsed into memory,"
+						+ " MAPPED - memory-mapped rule file in jadx cache directory, shared between processes,"
+						+ " PAGED - rules of a package decoded on first lookup,"
+						+ " TIERED - Android SDK rules first, rules of each repository added once loaded")
+				.defaultValue(RuleStoreMode.HEAP)
+				.setter(v -> ruleStoreMode = v);
+		intOption(LinterPlugin.PLUGIN_ID + ".load-threads")
+				.description("threads used to parse rule files: 0 - all available cores, 1 - sequential")
+				.defaultValue(0)
+				.setter(v -> loadThreads = v);
+		boolOption(LinterPlugin.PLUGIN_ID + ".lazy-fields")
+				.description("resolve constant fields only when a rule matches them")
+				.defaultValue(true)
+				.setter(v -> lazyFields = v);
+		boolOption(LinterPlugin.PLUGIN_ID + ".scan-callers")
+				.description("find methods calling rule methods on load and skip all other methods")
+				.defaultValue(false)
+				.setter(v -> scanCallers = v);
+		boolOption(LinterPlugin.PLUGIN_ID + ".report")
+				.description("write rule hit counters and timings to " + LinterStats.REPORT_FILE + " in the output directory")
+				.defaultValue(false)
+				.setter(v -> writeReport = v);
+		intOption(LinterPlugin.PLUGIN_ID + ".method-insn-budget")
+				.description("skip methods with more instructions than this, without changing them: 0 - no limit")
+				.defaultValue(0)
+				.setter(v -> methodInsnBudget = v);
+		intOption(LinterPlugin.PLUGIN_ID + ".method-time-budget")
+				.description("skip methods taking longer than this many milliseconds to check, without changing them: 0 - no limit")
+				.defaultValue(0)
+				.setter(v -> methodTimeBudget = v);
+		boolOption(LinterPlugin.PLUGIN_ID + ".selective-load")
+				.description("load only rules of methods referenced by the input, HEAP rule store only")
+				.defaultValue(false)
+				.setter(v -> selectiveLoad = v);
+		boolOption(LinterPlugin.PLUGIN_ID + ".async-load")
+				.description("parse rule files in the background while the input is loaded, HEAP rule store without selective load only")
+				.defaultValue(true)
+				.setter(v -> asyncLoad = v);
+		intOption(LinterPlugin.PLUGIN_ID + ".load-timeout")
+				.description("seconds to wait for background rule loading before running without rules: 0 - no limit")
+				.defaultValue(0)
+				.setter(v -> loadTimeout = v);
+		boolOption(LinterPlugin.PLUGIN_ID + ".shared-rules")
+				.description("keep parsed rules for all decompiler instances of the JVM while memory allows, HEAP rule store only")
+				.defaultValue(true)
+				.setter(v -> sharedRules = v);
+	}
+
+	public RuleStoreMode getRuleStoreMode() {
+		return ruleStoreMode;
+	}
+
+	public int getLoadThreads() {
+		return loadThreads;
+	}
+
+	public boolean isLazyFields() {
+		return lazyFields;
+	}
+
+	public boolean isScanCallers() {
+		return scanCallers;
+	}
+
+	public boolean isWriteReport() {
+		return writeReport;
+	}
+
+	public int getMethodInsnBudget() {
+		return methodInsnBudget;
+	}
+
+	/**
+	 * Time budget per method in milliseconds.
+	 */
+	public int getMethodTimeBudget() {
+		return methodTimeBudget;
+	}
+
+	public boolean isSelectiveLoad() {
+		return selectiveLoad;
+	}
+
+	public boolean isAsyncLoad() {
+		return asyncLoad;
+	}
+
+	/**
+	 * Timeout for background rule loading in seconds.
+	 */
+	public int getLoadTimeout() {
+		return loadTimeout;
+	}
+
+	public boolean isSharedRules() {
+		return sharedRules;
+	}
+}
@@ -11,6 +11,8 @@ public class LinterPlugin implements JadxPlugin {
 
 	public static final String PLUGIN_ID = "android-linter";
 
+	private AndroidLinterPass pass;
+
 	@Override
 	public JadxPluginInfo getPluginInfo() {
 		return JadxPluginInfoBuilder.pluginId(PLUGIN_ID)
@@ -22,7 +24,11 @@ public class LinterPlugin implements JadxPlugin {
 
 	@Override
 	public void init(JadxPluginContext context) {
-		context.addPass(new AndroidLinterPass());
+		final LinterOptions options = new LinterOptions();
+		context.registerOptions(options);
+		pass = new AndroidLinterPass(options);
+		context.addPass(pass);
+		pass.startLoading();
 
 		final JadxGuiContext guiContext = context.getGuiContext();
 		if (guiContext != null) {
@@ -31,4 +37,11 @@ public class LinterPlugin implements JadxPlugin {
 			});
 		}
 	}
+
+	@Override
+	public void unload() {
+		if (pass != null) {
+			pass.unload();
+		}
+	}
 }
@@ -2,6 +2,7 @@ package jadx.plugins.linter;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.BiFunction;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,9 +27,22 @@ abstract class LinterRule<T> {
 		this.argType = argType;
 	}
 
-	public Map<T, IFieldInfoRef> buildConstantMap(final Map<String, String> constantMap, final RootNode root) {
+	/**
+	 * Resolve the constant list of this rule and use it for lookups.
+	 *
+	 * @param constantValues constant value by class name and constant name, null if unknown
+	 * @param lazyFields     resolve field infos on first use instead of while building the map
+	 */
+	public RuleConstants buildConstants(final BiFunction<String, String, String> constantValues, final RootNode root,
+			final boolean lazyFields) {
+		final RuleConstants ruleConstants = compileConstants(buildConstantMap(constantValues, root, lazyFields));
+		this.setConstants(ruleConstants);
+		return ruleConstants;
+	}
+
+	private Map<T, IFieldInfoRef> buildConstantMap(final BiFunction<String, String, String> constantValues, final RootNode root,
+			final boolean lazyFields) {
 		final Map<T, IFieldInfoRef> enumMap = new HashMap<>();
-		this.setConstantMap(enumMap);
 		if (this.getConstantListString() == null) {
 			LOG.error("No constant list found for rule '{}', argument offset {}", this.methodSignature, this.argumentOffset);
 			return enumMap;
@@ -42,11 +56,16 @@ abstract class LinterRule<T> {
 			}
 			final String className = fullConstantName.substring(0, idx);
 			final String constantName = fullConstantName.substring(idx + 1);
-			final String value = constantMap.get(fullConstantName);
+			final String value = constantValues.apply(className, constantName);
 			if (value != null) {
 				try {
-					final ClassInfo cls = ClassInfo.fromName(root, className);
-					this.getValueToReference().put(convertValue(value), FieldInfo.from(root, cls, constantName, argType));
+					final T constValue = convertValue(value);
+					if (lazyFields) {
+						enumMap.put(constValue, new LazyFieldInfoRef(root, className.intern(), constantName, argType));
+					} else {
+						final ClassInfo cls = ClassInfo.fromName(root, className);
+						enumMap.put(constValue, FieldInfo.from(root, cls, constantName, argType));
+					}
 				} catch (final NumberFormatException e) {
 					LOG.error("Invalid constant value found for {}", fullConstantName);
 				}
@@ -59,13 +78,15 @@ abstract class LinterRule<T> {
 
 	protected abstract T convertValue(String value);
 
+	protected abstract RuleConstants compileConstants(Map<T, IFieldInfoRef> constantMap);
+
 	private final String methodSignature;
 
 	private final int argumentOffset;
 
 	private final boolean flag;
 
-	private Map<T, IFieldInfoRef> valueToReference = null;
+	private RuleConstants constants = null;
 
 	private final String source;
 
@@ -81,16 +102,16 @@ abstract class LinterRule<T> {
 		return argumentOffset;
 	}
 
-	public void setConstantMap(Map<T, IFieldInfoRef> constantMap) {
-		valueToReference = constantMap;
+	public void setConstants(final RuleConstants constants) {
+		this.constants = constants;
 	}
 
 	public boolean isFlag() {
 		return flag;
 	}
 
-	public Map<T, IFieldInfoRef> getValueToReference() {
-		return valueToReference;
+	public RuleConstants getConstants() {
+		return constants;
 	}
 
 	public String getSource() {
@@ -0,0 +1,93 @@
+package jadx.plugins.linter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * State of the current {@code item} element while reading a rule file, shared by all rule file
+ * parsers.
+ */
+final class LinterRuleItem {
+
+	private final Predicate<String> signatureFilter;
+
+	private String methodSignature = null;
+	private int argumentOffset = -1;
+	private boolean isFlag = false;
+	private String valueString = null;
+	private String annotationName = null;
+
+	LinterRuleItem() {
+		this(null);
+	}
+
+	/**
+	 * @param signatureFilter rules of rejected method signatures are skipped, null to keep all rules
+	 */
+	LinterRuleItem(final Predicate<String> signatureFilter) {
+		this.signatureFilter = signatureFilter;
+	}
+
+	void start(final String name) {
+		methodSignature = null;
+		argumentOffset = -1;
+		isFlag = false;
+		valueString = null;
+		annotationName = null;
+		final int indexOf = name.indexOf(')');
+		if (indexOf > 0) {
+			methodSignature = name.substring(0, indexOf + 1);
+
+			final int indexOf2 = name.indexOf(' ', indexOf + 1);
+			if (indexOf2 > -1) {
+				argumentOffset = Integer.parseInt(name.substring(indexOf + 2, indexOf2 + 2));
+			}
+		}
+	}
+
+	void setAnnotationName(final String annotationName) {
+		this.annotationName = annotationName;
+	}
+
+	void setValue(final String name, final String val) {
+		if ("value".equals(name)) {
+			setConstantList(val);
+		}
+		if ("flag".equals(name)) {
+			setFlag(Boolean.parseBoolean(val));
+		}
+	}
+
+	void setConstantList(final String val) {
+		// truncate quotes
+		valueString = val.substring(1, val.length() - 1);
+	}
+
+	void setFlag(final boolean flag) {
+		isFlag = flag;
+	}
+
+	void end(final String source, final Map<String, List<LinterRule<?>>> linterRules) {
+		if (annotationName == null) {
+			return;
+		}
+		if (signatureFilter != null && !signatureFilter.test(methodSignature)) {
+			return;
+		}
+		LinterRule<?> linterRule = null;
+		switch (annotationName) {
+			case "androidx.annotation.IntDef":
+				linterRule = new IntLinterRule(methodSignature, argumentOffset, isFlag, source, valueString);
+				break;
+			case "androidx.annotation.LongDef":
+				linterRule = new LongLinterRule(methodSignature, argumentOffset, isFlag, source, valueString);
+				break;
+			case "androidx.annotation.StringDef":
+				linterRule = new StringLinterRule(methodSignature, argumentOffset, isFlag, source, valueString);
+				break;
+		}
+		linterRules.computeIfAbsent(methodSignature, k -> new ArrayList<>()).add(linterRule);
+	}
+}
@@ -1,15 +1,23 @@
 package jadx.plugins.linter;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLEventReader;
@@ -23,7 +31,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jadx.commons.app.JadxCommonFiles;
-import jadx.core.dex.nodes.IFieldInfoRef;
 import jadx.core.dex.nodes.RootNode;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 import jadx.plugins.linter.index.RuleIndexUtils;
@@ -37,6 +44,16 @@ public class LinterRuleLoader {
 	public LinterRuleLoader(final RootNode root, final boolean usePackagedRules) {
 		this.root = root;
 		this.usePackagedRules = usePackagedRules;
+		this.rulesDir = null;
+	}
+
+	/**
+	 * Load rule files from a plain directory, used to build the rule bundle.
+	 */
+	public LinterRuleLoader(final RootNode root, final File rulesDir) {
+		this.root = root;
+		this.usePackagedRules = false;
+		this.rulesDir = rulesDir;
 	}
 
 	private static final Logger LOG = LoggerFactory.getLogger(LinterRuleLoader.class);
@@ -45,127 +62,226 @@ public class LinterRuleLoader {
 
 	private boolean usePackagedRules;
 
+	private final File rulesDir;
+
+	private String indexHash = null;
+
+	private int loadThreads = 0;
+
+	private boolean lazyFields = false;
+
+	private boolean loaded = false;
+
+	private volatile boolean loadErrors = false;
+
+	private boolean snapshotWritten = false;
+
+	private LinterStats stats = new LinterStats();
+
+	private RuleFilter ruleFilter = null;
+
+	// rule and constant files without rules for the input, known from the file index of an earlier load
+	private Set<String> skippedFiles = Set.of();
+
+	// built while loading the files of a selective load without a valid file index
+	private RuleFileIndex fileIndex = null;
+
 	private final Map<String, List<LinterRule<?>>> linterRules = new HashMap<>();
 
-	// enum maps are reused in rules, so cache them
-	final Map<String, Map<Integer, IFieldInfoRef>> linterIntEnums = new HashMap<>();
-	final Map<String, Map<String, IFieldInfoRef>> linterStringEnums = new HashMap<>();
-	final Map<String, Map<Long, IFieldInfoRef>> linterLongEnums = new HashMap<>();
+	// indexes of the repositories not loaded yet by a tiered load
+	private final Map<String, RepositoryIndex> tierIndexes = new HashMap<>();
 
-	final Map<String, String> constantMap = new HashMap<>();
+	// constant sets of the tiers mapped so far
+	private ConstantMapCache tierConstantMaps = null;
+
+	final ConstantTable constantTable = new ConstantTable();
 
 	public void mapConstants() {
-		for (final Map.Entry<String, List<LinterRule<?>>> ruleEntry : linterRules.entrySet()) {
-			final String signature = ruleEntry.getKey();
-			final List<LinterRule<?>> rules = ruleEntry.getValue();
+		mapConstants(root);
+	}
+
+	/**
+	 * Map constants to fields of the input, for rules loaded before the input was available.
+	 */
+	public void mapConstants(final RootNode root) {
+		mapConstants(linterRules, new ConstantMapCache(constantTable::get, root, lazyFields));
+	}
+
+	/**
+	 * Map constants of the rules of a tier, e.g. of a repository loaded later. Constant sets built for
+	 * earlier tiers are reused, all tiers must be mapped with the same root.
+	 */
+	void mapTierConstants(final RootNode root, final Map<String, List<LinterRule<?>>> tierRules) {
+		if (tierConstantMaps == null) {
+			tierConstantMaps = new ConstantMapCache(constantTable::get, root, lazyFields);
+		}
+		mapConstants(tierRules, tierConstantMaps);
+	}
+
+	/**
+	 * Map constants to field references without a root, resolved later by a {@link FieldBinding}.
+	 */
+	void mapConstantsUnbound() {
+		mapConstants(linterRules, new ConstantMapCache(constantTable::get, null, true));
+	}
+
+	private void mapConstants(final Map<String, List<LinterRule<?>>> ruleMap, final ConstantMapCache constantMaps) {
+		final RuleLoadEvent event = new RuleLoadEvent(RuleLoadEvent.MAP_CONSTANTS, null);
+		for (final List<LinterRule<?>> rules : ruleMap.values()) {
 			for (final LinterRule<?> rule : rules) {
-				switch (rule.getType()) {
-					case INT_DEF:
-						if (linterIntEnums.containsKey(signature)) {
-							((IntLinterRule) rule).setConstantMap(linterIntEnums.get(signature));
-						} else {
-							linterIntEnums.put(signature, ((IntLinterRule) rule).buildConstantMap(constantMap, root));
-						}
-						break;
-					case LONG_DEF:
-						if (linterLongEnums.containsKey(signature)) {
-							((LongLinterRule) rule).setConstantMap(linterLongEnums.get(signature));
-						} else {
-							linterLongEnums.put(signature, ((LongLinterRule) rule).buildConstantMap(constantMap, root));
-						}
-						break;
-					case STRING_DEF:
-						if (linterStringEnums.containsKey(signature)) {
-							((StringLinterRule) rule).setConstantMap(linterStringEnums.get(signature));
-						} else {
-							linterStringEnums.put(signature, ((StringLinterRule) rule).buildConstantMap(constantMap, root));
-						}
-						break;
-				}
+				constantMaps.apply(rule);
 			}
 		}
+		event.commit(constantMaps.size());
+		LOG.debug("Linter constant maps: {} distinct constant sets", constantMaps.size());
 	}
 
 	public Map<String, List<LinterRule<?>>> getLinterRules() {
 		return linterRules;
 	}
 
+	/**
+	 * Hash of the rule index the loaded rules belong to, available after loading.
+	 */
+	public String getIndexHash() {
+		return indexHash;
+	}
+
+	/**
+	 * Number of threads used to parse rule files: 0 - all available cores, 1 - parse sequentially.
+	 */
+	public void setLoadThreads(final int loadThreads) {
+		this.loadThreads = loadThreads;
+	}
+
+	/**
+	 * Resolve field infos of constants only when a rule matches them.
+	 */
+	public void setLazyFields(final boolean lazyFields) {
+		this.lazyFields = lazyFields;
+	}
+
+	public boolean isLazyFields() {
+		return lazyFields;
+	}
+
+	/**
+	 * Load only rules accepted by the filter and the constants they can refer to. Rule and constant
+	 * files are skipped before parsing by the {@link RuleFileIndex} written by the first selective load
+	 * of the rules. Rules loaded this way are not stored as snapshot.
+	 */
+	void setRuleFilter(final RuleFilter ruleFilter) {
+		this.ruleFilter = ruleFilter;
+	}
+
+	/**
+	 * Counters to record loading into.
+	 */
+	void setStats(final LinterStats stats) {
+		this.stats = stats;
+	}
+
 	public void loadAndroidLinterRules(final String xmlRuleFile, final String source) {
-		final XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
-		String methodSignature = null;
-		int argumentOffset = -1;
-		boolean isFlag = false;
-		String valueString = null;
-		String annotationName = null;
+		parseAndroidLinterRules(xmlRuleFile, source, linterRules, ruleFilter == null ? null : ruleFilter::matches);
+	}
+
+	/**
+	 * Parse one rule file of a load task into its own map, unless the file index shows it has no rules
+	 * for the input.
+	 */
+	private void loadRuleFile(final String xmlRuleFile, final String source, final Map<String, List<LinterRule<?>>> fileRules) {
+		if (skippedFiles.contains(xmlRuleFile)) {
+			stats.recordSkippedRuleFile();
+			return;
+		}
+		final RuleFileIndex index = fileIndex;
+		if (index == null) {
+			parseAndroidLinterRules(xmlRuleFile, source, fileRules, ruleFilter == null ? null : ruleFilter::matches);
+		} else {
+			// the index needs all rules of the file, they are filtered afterwards
+			parseAndroidLinterRules(xmlRuleFile, source, fileRules, null);
+			index.addRuleFile(xmlRuleFile, fileRules);
+			fileRules.keySet().removeIf(signature -> !ruleFilter.matches(signature));
+		}
+		if (ruleFilter != null && fileRules.isEmpty()) {
+			stats.recordSkippedRuleFile();
+		}
+	}
+
+	private void loadConstantFile(final String constantFile, final Map<String, String> fileConstants) {
+		if (skippedFiles.contains(constantFile)) {
+			return;
+		}
+		parseAndroidConstants(constantFile, fileConstants);
+		final RuleFileIndex index = fileIndex;
+		if (index != null) {
+			index.addConstantFile(constantFile, fileConstants.keySet());
+		}
+	}
+
+	private void parseAndroidLinterRules(final String xmlRuleFile, final String source,
+			final Map<String, List<LinterRule<?>>> linterRules, final Predicate<String> signatureFilter) {
+		final RuleLoadEvent event = new RuleLoadEvent(RuleLoadEvent.RULES, xmlRuleFile);
+		final int signatures = linterRules.size();
 		try (final InputStream androidRulesXml = getLinterFileAsStream(xmlRuleFile)) {
-			final XMLEventReader reader = xmlInputFactory.createXMLEventReader(androidRulesXml);
-			while (reader.hasNext()) {
-				final XMLEvent nextEvent = reader.nextEvent();
-				if (nextEvent.isStartElement()) {
-					final StartElement startElement = nextEvent.asStartElement();
-					if (startElement.getName().getLocalPart().equals("item")) {
-						methodSignature = null;
-						argumentOffset = -1;
-						isFlag = false;
-						valueString = null;
-						annotationName = null;
-						final String name = startElement.getAttributeByName(new QName("name")).getValue();
-						final int indexOf = name.indexOf(')');
-						if (indexOf > 0) {
-							methodSignature = name.substring(0, indexOf + 1);
-
-							final int indexOf2 = name.indexOf(' ', indexOf + 1);
-							if (indexOf2 > -1) {
-								argumentOffset = Integer.parseInt(name.substring(indexOf + 2, indexOf2 + 2));
-							}
-						}
-					}
-					if (startElement.getName().getLocalPart().equals("annotation")) {
-						annotationName = startElement.getAttributeByName(new QName("name")).getValue();
-					}
-					if (startElement.getName().getLocalPart().equals("val")) {
-						final String name = startElement.getAttributeByName(new QName("name")).getValue();
-						final String val = startElement.getAttributeByName(new QName("val")).getValue();
-						if ("value".equals(name)) {
-							// truncate quotes
-							valueString = val.substring(1, val.length() - 1);
-						}
-						if ("flag".equals(name)) {
-							isFlag = Boolean.parseBoolean(val);
-						}
-					}
-				}
-				if (nextEvent.isEndElement()) {
-					final EndElement endElement = nextEvent.asEndElement();
-					if (endElement.getName().getLocalPart().equals("item") && annotationName != null) {
-						LinterRule<?> linterRule = null;
-						switch (annotationName) {
-							case "androidx.annotation.IntDef":
-								linterRule = new IntLinterRule(methodSignature, argumentOffset, isFlag, source,
-										valueString);
-								break;
-							case "androidx.annotation.LongDef":
-								linterRule = new LongLinterRule(methodSignature, argumentOffset, isFlag, source,
-										valueString);
-								break;
-							case "androidx.annotation.StringDef":
-								linterRule = new StringLinterRule(methodSignature, argumentOffset, isFlag, source, valueString);
-								break;
-						}
-
-						if (!linterRules.containsKey(methodSignature)) {
-							linterRules.put(methodSignature, new ArrayList<>());
-						}
-						linterRules.get(methodSignature).add(linterRule);
-					}
-				}
+			final byte[] data = androidRulesXml.readAllBytes();
+			stats.recordRuleFile();
+			if (!LinterRuleXmlScanner.scan(data, source, linterRules, signatureFilter)) {
+				LOG.debug("Unexpected content in linter rule file {}, falling back to StAX", xmlRuleFile);
+				stats.recordStaxFallback();
+				parseWithStax(new ByteArrayInputStream(data), source, linterRules, signatureFilter);
 			}
 		} catch (final IOException | XMLStreamException e) {
+			loadErrors = true;
 			LOG.error("Failed to load linter rule file", e);
 		}
+		event.commit(linterRules.size() - signatures);
+	}
+
+	static void parseWithStax(final InputStream androidRulesXml, final String source,
+			final Map<String, List<LinterRule<?>>> linterRules) throws XMLStreamException {
+		parseWithStax(androidRulesXml, source, linterRules, null);
+	}
+
+	private static void parseWithStax(final InputStream androidRulesXml, final String source,
+			final Map<String, List<LinterRule<?>>> linterRules, final Predicate<String> signatureFilter) throws XMLStreamException {
+		final XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+		final XMLEventReader reader = xmlInputFactory.createXMLEventReader(androidRulesXml);
+		final LinterRuleItem item = new LinterRuleItem(signatureFilter);
+		while (reader.hasNext()) {
+			final XMLEvent nextEvent = reader.nextEvent();
+			if (nextEvent.isStartElement()) {
+				final StartElement startElement = nextEvent.asStartElement();
+				if (startElement.getName().getLocalPart().equals("item")) {
+					item.start(startElement.getAttributeByName(new QName("name")).getValue());
+				}
+				if (startElement.getName().getLocalPart().equals("annotation")) {
+					item.setAnnotationName(startElement.getAttributeByName(new QName("name")).getValue());
+				}
+				if (startElement.getName().getLocalPart().equals("val")) {
+					final String name = startElement.getAttributeByName(new QName("name")).getValue();
+					final String val = startElement.getAttributeByName(new QName("val")).getValue();
+					item.setValue(name, val);
+				}
+			}
+			if (nextEvent.isEndElement()) {
+				final EndElement endElement = nextEvent.asEndElement();
+				if (endElement.getName().getLocalPart().equals("item")) {
+					item.end(source, linterRules);
+				}
+			}
+		}
 	}
 
 	public void loadAndroidConstants(final String constantFile) {
+		final Map<String, String> constants = new HashMap<>();
+		parseAndroidConstants(constantFile, constants);
+		constantTable.putAll(constants);
+	}
+
+	private void parseAndroidConstants(final String constantFile, final Map<String, String> constantMap) {
+		final RuleLoadEvent event = new RuleLoadEvent(RuleLoadEvent.CONSTANTS, constantFile);
+		final int constants = constantMap.size();
 		try (final InputStream is = getLinterFileAsStream(constantFile);
 				final Scanner sc = new Scanner(is)) {
 			while (sc.hasNext()) {
@@ -178,46 +294,365 @@ public class LinterRuleLoader {
 				}
 			}
 		} catch (final IOException e) {
+			loadErrors = true;
 			LOG.error("Failed to load linter constant file: ", e);
 		}
+		event.commit(constantMap.size() - constants);
+	}
+
+	/**
+	 * Add the tasks loading the files of a repository. The repository event covers reading its index
+	 * until the files of the repository are merged.
+	 */
+	private void addRepositoryTasks(final String repo, final List<Supplier<RuleFileContent>> loadTasks) {
+		final RuleLoadEvent event = new RuleLoadEvent(RuleLoadEvent.REPOSITORY, repo);
+		final RepositoryIndex repositoryIndex = readRepositoryIndex(repo);
+		if (repositoryIndex == null) {
+			event.commit(0);
+			return;
+		}
+		// load constants first to support transitive dependencies
+		addConstantTasks(repo, repositoryIndex, loadTasks);
+		addRuleTasks(repo, repositoryIndex, event, loadTasks);
 	}
 
-	private void loadRepositoryIndex(final String repo) {
+	private RepositoryIndex readRepositoryIndex(final String repo) {
 		try {
 			final InputStream is = getLinterFileAsStream(repo + "-integrity.json");
 			final String repoIndexJson = RuleIndexUtils.readStringFromStream(is);
-			final RepositoryIndex repositoryIndex = RuleIndexUtils.GSON.fromJson(repoIndexJson, RepositoryIndex.class);
+			return RuleIndexUtils.GSON.fromJson(repoIndexJson, RepositoryIndex.class);
+		} catch (final IOException e) {
+			loadErrors = true;
+			LOG.error("Failed to load linter rules of repository: " + repo, e);
+			return null;
+		}
+	}
 
-			// load constants first to support transitive dependencies
-			for (final Artifact lib : repositoryIndex.getArtifacts()) {
-				if (lib.getConstants() != null && !lib.getConstants().isEmpty()) {
-					loadAndroidConstants(repo + "/" + lib.getName() + ".txt");
-				}
+	private void addConstantTasks(final String repo, final RepositoryIndex repositoryIndex,
+			final List<Supplier<RuleFileContent>> loadTasks) {
+		for (final Artifact lib : repositoryIndex.getArtifacts()) {
+			if (lib.getConstants() != null && !lib.getConstants().isEmpty()) {
+				loadTasks.add(() -> RuleFileContent.constants(this, repo + "/" + lib.getName() + ".txt"));
 			}
+		}
+	}
+
+	private void addRuleTasks(final String repo, final RepositoryIndex repositoryIndex, final RuleLoadEvent event,
+			final List<Supplier<RuleFileContent>> loadTasks) {
+		for (final Artifact lib : repositoryIndex.getArtifacts()) {
+			loadTasks.add(() -> RuleFileContent.rules(this, repo + "/" + lib.getName() + ".xml", lib.getName().replace("_", ":")));
+		}
+		final int artifacts = repositoryIndex.getArtifacts().size();
+		loadTasks.add(() -> RuleFileContent.onMerged(() -> event.commit(artifacts)));
+	}
 
-			for (final Artifact lib : repositoryIndex.getArtifacts()) {
-				loadAndroidLinterRules(repo + "/" + lib.getName() + ".xml", lib.getName().replace("_", ":"));
+	/**
+	 * Parse all files into separate results, possibly in parallel, and merge them in task order.
+	 * The merged rules are identical to loading the files one after another.
+	 */
+	private void runLoadTasks(final List<Supplier<RuleFileContent>> loadTasks, final Map<String, List<LinterRule<?>>> targetRules) {
+		if (loadThreads == 1) {
+			for (final Supplier<RuleFileContent> task : loadTasks) {
+				task.get().mergeInto(targetRules, constantTable);
+			}
+			return;
+		}
+		final ForkJoinPool pool = loadThreads <= 0 ? ForkJoinPool.commonPool() : new ForkJoinPool(loadThreads);
+		try {
+			final List<CompletableFuture<RuleFileContent>> results = new ArrayList<>(loadTasks.size());
+			for (final Supplier<RuleFileContent> task : loadTasks) {
+				results.add(CompletableFuture.supplyAsync(task, pool));
+			}
+			for (final CompletableFuture<RuleFileContent> result : results) {
+				result.join().mergeInto(targetRules, constantTable);
+			}
+		} catch (final CompletionException e) {
+			throw new JadxRuntimeException("Could not load linter rules", e.getCause());
+		} finally {
+			if (pool != ForkJoinPool.commonPool()) {
+				pool.shutdown();
 			}
-		} catch (final IOException e) {
-			LOG.error("Failed to load linter rules of repository: " + repo, e);
 		}
 	}
 
 	public void loadRulesAndConstants() {
-		try (final InputStream is = getRuleIndexAsStream()) {
-			final String indexJson = RuleIndexUtils.readStringFromStream(is);
-			final RuleIndex ruleIndex = RuleIndexUtils.GSON.fromJson(indexJson, RuleIndex.class);
-			loadAndroidConstants("android.txt");
-			loadAndroidConstants("additional-constants.txt");
-			loadAndroidLinterRules("android.xml", "Android SDK");
-			for (final Repository repo : ruleIndex.getRepositories()) {
-				loadRepositoryIndex(repo.getName());
+		if (loaded) {
+			return;
+		}
+		loaded = true;
+		final long start = System.nanoTime();
+		final String loadSource = loadRules();
+		stats.recordLoad(loadSource, System.nanoTime() - start);
+		if (ruleFilter != null) {
+			stats.recordFilteredRules(ruleFilter.getKept(), ruleFilter.getSkipped());
+			LOG.debug("Selective linter rule loading: kept {}, skipped {} signatures of methods not referenced by the input",
+					ruleFilter.getKept(), ruleFilter.getSkipped());
+		}
+	}
+
+	/**
+	 * @return where the rules were loaded from
+	 */
+	private String loadRules() {
+		final RuleLoadEvent indexEvent = new RuleLoadEvent(RuleLoadEvent.INDEX, "rules-integrity.json");
+		final byte[] indexData = readRuleIndex();
+		indexEvent.commit(indexData.length);
+		if (usePackagedRules) {
+			if (loadRuleBundle()) {
+				return "bundle";
 			}
+		} else if (rulesDir == null && loadRuleSnapshot()) {
+			return "snapshot";
+		}
+		final String fileIndexKey = RuleSnapshot.buildKey(indexHash);
+		if (ruleFilter != null) {
+			initFileIndex(fileIndexKey);
+		}
+		final List<Supplier<RuleFileContent>> loadTasks = new ArrayList<>();
+		addSdkTasks(loadTasks);
+		for (final String repo : getRepositories(indexData)) {
+			addRepositoryTasks(repo, loadTasks);
+		}
+		runLoadTasks(loadTasks, linterRules);
+		constantTable.compact();
+		if (fileIndex != null) {
+			writeFileIndex(fileIndexKey);
+		}
+		if (!usePackagedRules && rulesDir == null && ruleFilter == null) {
+			// packaged rules are already precompiled, only external rules need a snapshot
+			writeRuleSnapshot();
+		}
+		return "files";
+	}
+
+	/**
+	 * Skip the files without rules for the input if the file index is available, build it otherwise.
+	 */
+	private void initFileIndex(final String key) {
+		final RuleFileIndex index = RuleFileIndex.read(key);
+		if (index == null) {
+			fileIndex = new RuleFileIndex();
+			return;
+		}
+		skippedFiles = index.getSkippedFiles(ruleFilter);
+		LOG.debug("Selective linter rule loading: skipping {} rule and constant files", skippedFiles.size());
+	}
+
+	private void writeFileIndex(final String key) {
+		if (loadErrors) {
+			LOG.warn("Linter rules not loaded completely, skip writing rule file index");
+		} else {
+			try {
+				fileIndex.write(key);
+			} catch (final IOException e) {
+				LOG.warn("Failed to write linter rule file index", e);
+			}
+		}
+		fileIndex = null;
+	}
+
+	private static List<String> getRepositories(final byte[] indexData) {
+		final String indexJson = new String(indexData, StandardCharsets.UTF_8);
+		final RuleIndex ruleIndex = RuleIndexUtils.GSON.fromJson(indexJson, RuleIndex.class);
+		final List<String> repositories = new ArrayList<>();
+		for (final Repository repo : ruleIndex.getRepositories()) {
+			repositories.add(repo.getName());
+		}
+		return repositories;
+	}
+
+	private void addSdkTasks(final List<Supplier<RuleFileContent>> loadTasks) {
+		loadTasks.add(() -> RuleFileContent.constants(this, "android.txt"));
+		loadTasks.add(() -> RuleFileContent.constants(this, "additional-constants.txt"));
+		loadTasks.add(() -> RuleFileContent.rules(this, "android.xml", "Android SDK"));
+	}
+
+	/**
+	 * Load the Android SDK rules from the rule files, the first rule tier, and the constants of all
+	 * repositories. The repository rules are loaded with {@link #loadRepositoryTier(String)}
+	 * afterwards, so the rules of every tier are mapped against the complete constant table.
+	 *
+	 * @return names of the repositories in index order
+	 */
+	List<String> loadSdkTier() {
+		loaded = true;
+		final long start = System.nanoTime();
+		final RuleLoadEvent indexEvent = new RuleLoadEvent(RuleLoadEvent.INDEX, "rules-integrity.json");
+		final byte[] indexData = readRuleIndex();
+		indexEvent.commit(indexData.length);
+		final List<String> repositories = getRepositories(indexData);
+		final List<Supplier<RuleFileContent>> loadTasks = new ArrayList<>();
+		addSdkTasks(loadTasks);
+		// constants are merged in the order of a full load, later rule files only add rules
+		for (final String repo : repositories) {
+			final RepositoryIndex repositoryIndex = readRepositoryIndex(repo);
+			if (repositoryIndex != null) {
+				tierIndexes.put(repo, repositoryIndex);
+				addConstantTasks(repo, repositoryIndex, loadTasks);
+			}
+		}
+		runLoadTasks(loadTasks, linterRules);
+		constantTable.compact();
+		stats.recordLoad("tiered", System.nanoTime() - start);
+		return repositories;
+	}
+
+	/**
+	 * Load the rules of one repository and add them to the loaded rules. Rule lists getting more rules
+	 * are copied, so maps of rules taken before keep their content.
+	 *
+	 * @return rules added by the repository
+	 */
+	Map<String, List<LinterRule<?>>> loadRepositoryTier(final String repo) {
+		final Map<String, List<LinterRule<?>>> tierRules = new HashMap<>();
+		final RepositoryIndex repositoryIndex = tierIndexes.remove(repo);
+		if (repositoryIndex == null) {
+			// failed to read the repository index, already logged
+			return tierRules;
+		}
+		final List<Supplier<RuleFileContent>> loadTasks = new ArrayList<>();
+		addRuleTasks(repo, repositoryIndex, new RuleLoadEvent(RuleLoadEvent.REPOSITORY, repo), loadTasks);
+		runLoadTasks(loadTasks, tierRules);
+		for (final Map.Entry<String, List<LinterRule<?>>> entry : tierRules.entrySet()) {
+			linterRules.merge(entry.getKey(), entry.getValue(), (rules, added) -> {
+				final List<LinterRule<?>> merged = new ArrayList<>(rules.size() + added.size());
+				merged.addAll(rules);
+				merged.addAll(added);
+				return merged;
+			});
+		}
+		return tierRules;
+	}
+
+	private boolean loadRuleSnapshot() {
+		final RuleLoadEvent event = new RuleLoadEvent(RuleLoadEvent.SNAPSHOT, RuleSnapshot.SNAPSHOT_FILE);
+		final RuleBundle snapshot = RuleSnapshot.read(RuleSnapshot.buildKey(indexHash));
+		if (snapshot == null) {
+			return false;
+		}
+		snapshot.loadInto(linterRules, constantTable, ruleFilter == null ? null : ruleFilter::matches);
+		event.commit(linterRules.size());
+		LOG.debug("Linter rules loaded from snapshot");
+		return true;
+	}
+
+	/**
+	 * Store the loaded rules and constants as snapshot in the jadx cache directory.
+	 *
+	 * @return false if loading was incomplete or the snapshot could not be written
+	 */
+	boolean writeRuleSnapshot() {
+		if (loadErrors) {
+			LOG.warn("Linter rules not loaded completely, skip writing rule snapshot");
+			return false;
+		}
+		try {
+			RuleSnapshot.write(RuleSnapshot.buildKey(indexHash), linterRules, constantTable.toMap());
+			snapshotWritten = true;
+			return true;
+		} catch (final IOException e) {
+			LOG.warn("Failed to write linter rule snapshot", e);
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if the loaded rules were already stored as snapshot
+	 */
+	boolean isSnapshotWritten() {
+		return snapshotWritten;
+	}
+
+	/**
+	 * Read only the rule index to identify the rule set without loading it.
+	 */
+	public String loadIndexHash() {
+		readRuleIndex();
+		return indexHash;
+	}
+
+	public boolean isUsePackagedRules() {
+		return usePackagedRules;
+	}
+
+	private byte[] readRuleIndex() {
+		try (final InputStream is = getRuleIndexAsStream()) {
+			final byte[] indexData = is.readAllBytes();
+			indexHash = RuleIndexUtils.generateHash(indexData);
+			return indexData;
 		} catch (final IOException e) {
 			throw new JadxRuntimeException("Could not load linter rules", e);
 		}
 	}
 
+	/**
+	 * Load the precompiled rule bundle shipped with the plugin instead of parsing all rule files.
+	 *
+	 * @return false if there is no bundle or it doesn't match the packaged rule index
+	 */
+	private boolean loadRuleBundle() {
+		final RuleBundle bundle = readPackagedRuleBundle();
+		if (bundle == null) {
+			return false;
+		}
+		final RuleLoadEvent event = new RuleLoadEvent(RuleLoadEvent.BUNDLE, RuleBundle.BUNDLE_FILE);
+		bundle.loadInto(linterRules, constantTable, ruleFilter == null ? null : ruleFilter::matches);
+		event.commit(linterRules.size());
+		return true;
+	}
+
+	/**
+	 * @return packaged rule bundle or null if there is none matching the packaged rule index
+	 */
+	private RuleBundle readPackagedRuleBundle() {
+		try (final InputStream is = getPackagedRuleBundleAsStream()) {
+			if (is == null) {
+				LOG.debug("No linter rule bundle found, parsing rule files");
+				return null;
+			}
+			final RuleBundle bundle = RuleBundle.read(is);
+			if (!indexHash.equals(bundle.getKey())) {
+				LOG.warn("Linter rule bundle doesn't match rule index, parsing rule files");
+				return null;
+			}
+			return bundle;
+		} catch (final IOException e) {
+			LOG.warn("Failed to load linter rule bundle, parsing rule files", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Precompiled rules as bundle without loading them: the packaged bundle for packaged rules, the
+	 * snapshot in the jadx cache directory otherwise. A missing snapshot is written first.
+	 *
+	 * @return null if no bundle is available
+	 */
+	RuleBundle openRuleBundle() {
+		readRuleIndex();
+		final String key = RuleSnapshot.buildKey(indexHash);
+		if (usePackagedRules) {
+			final RuleBundle bundle = readPackagedRuleBundle();
+			if (bundle != null) {
+				return bundle;
+			}
+		} else if (rulesDir == null) {
+			final RuleBundle snapshot = RuleSnapshot.read(key);
+			if (snapshot != null) {
+				return snapshot;
+			}
+		}
+		loadRulesAndConstants();
+		if (!snapshotWritten && !writeRuleSnapshot()) {
+			return null;
+		}
+		return RuleSnapshot.read(key);
+	}
+
+	static InputStream getPackagedRuleBundleAsStream() {
+		return LinterRuleLoader.class.getClassLoader().getResourceAsStream("linter/" + RuleBundle.BUNDLE_FILE);
+	}
+
 	private InputStream getRuleIndexAsStream() {
 		try {
 			return getLinterFileAsStream("rules-integrity.json");
@@ -233,9 +668,52 @@ public class LinterRuleLoader {
 	}
 
 	private InputStream getLinterFileAsStream(final String filename) throws FileNotFoundException {
+		if (rulesDir != null) {
+			return new FileInputStream(new File(rulesDir, filename));
+		}
 		return usePackagedRules
 				? LinterRuleLoader.class.getClassLoader().getResourceAsStream("linter/" + filename)
 				: new FileInputStream(
 						JadxCommonFiles.getCacheDir().toAbsolutePath() + File.separator + "linter" + File.separator + filename);
 	}
+
+	/**
+	 * Rules or constants of a single file.
+	 */
+	private static final class RuleFileContent {
+		private final Map<String, List<LinterRule<?>>> rules = new HashMap<>();
+		private final Map<String, String> constants = new HashMap<>();
+		private Runnable mergeAction = null;
+
+		static RuleFileContent rules(final LinterRuleLoader loader, final String xmlRuleFile, final String source) {
+			final RuleFileContent content = new RuleFileContent();
+			loader.loadRuleFile(xmlRuleFile, source, content.rules);
+			return content;
+		}
+
+		static RuleFileContent constants(final LinterRuleLoader loader, final String constantFile) {
+			final RuleFileContent content = new RuleFileContent();
+			loader.loadConstantFile(constantFile, content.constants);
+			return content;
+		}
+
+		/**
+		 * Empty content running the action when merged, after all tasks added before it.
+		 */
+		static RuleFileContent onMerged(final Runnable action) {
+			final RuleFileContent content = new RuleFileContent();
+			content.mergeAction = action;
+			return content;
+		}
+
+		void mergeInto(final Map<String, List<LinterRule<?>>> linterRules, final ConstantTable constantTable) {
+			for (final Map.Entry<String, List<LinterRule<?>>> entry : rules.entrySet()) {
+				linterRules.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).addAll(entry.getValue());
+			}
+			constantTable.putAll(constants);
+			if (mergeAction != null) {
+				mergeAction.run();
+			}
+		}
+	}
 }
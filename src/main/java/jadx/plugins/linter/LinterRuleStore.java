@@ -0,0 +1,38 @@
+package jadx.plugins.linter;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Lookup of linter rules by method signature.
+ */
+interface LinterRuleStore {
+
+	/**
+	 * @return rules for the method signature with mapped constants or null if there are none
+	 */
+	List<LinterRule<?>> getRules(String methodSignature);
+
+	/**
+	 * Same as {@link #getRules(String)} for the signature {@code className + ' ' + methodProto}.
+	 */
+	default List<LinterRule<?>> getRules(final String className, final String methodProto) {
+		final ArgumentRules rules = getArgumentRules(className, methodProto);
+		return rules == null ? null : rules.getRules();
+	}
+
+	/**
+	 * @return rules for the signature {@code className + ' ' + methodProto} indexed by invoke argument or
+	 *         null if there are none
+	 */
+	ArgumentRules getArgumentRules(String className, String methodProto);
+
+	/**
+	 * @return true if there are rules for any method of the class
+	 */
+	boolean hasClassRules(String className);
+
+	void forEachSignature(Consumer<String> consumer);
+
+	int size();
+}
@@ -0,0 +1,411 @@
+package jadx.plugins.linter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Single pass scanner for the fixed rule file schema
+ * {@code root/item[@name]/annotation[@name]/val[@name,@val]}.
+ * <p>
+ * Works directly on the UTF-8 bytes and only creates strings for item names and constant lists.
+ * Anything outside the schema (other elements, text content, CDATA, DTDs, unknown entities) is
+ * reported as mismatch, so the caller can fall back to a full XML parser.
+ */
+final class LinterRuleXmlScanner {
+
+	private static final byte[][] ELEMENTS = {
+			ascii("root"), ascii("item"), ascii("annotation"), ascii("val")
+	};
+	private static final int ITEM = 1;
+	private static final int ANNOTATION = 2;
+	private static final int VAL = 3;
+
+	private static final byte[] NAME_ATTR = ascii("name");
+	private static final byte[] VAL_ATTR = ascii("val");
+	private static final byte[] VALUE = ascii("value");
+	private static final byte[] FLAG = ascii("flag");
+	private static final byte[] TRUE = ascii("true");
+
+	private static final byte[][] ANNOTATIONS;
+
+	static {
+		final DefTypes[] types = DefTypes.values();
+		ANNOTATIONS = new byte[types.length][];
+		for (int i = 0; i < types.length; i++) {
+			ANNOTATIONS[i] = ascii(types[i].getAndroidXClassName());
+		}
+	}
+
+	private static final Mismatch MISMATCH = new Mismatch();
+
+	private final byte[] data;
+	private final String source;
+	private final LinterRuleItem item;
+	private final Map<String, List<LinterRule<?>>> scannedRules = new HashMap<>();
+	private int pos = 0;
+	private int depth = 0;
+
+	// attribute value ranges of the current element
+	private int nameStart;
+	private int nameEnd;
+	private int valStart;
+	private int valEnd;
+
+	private LinterRuleXmlScanner(final byte[] data, final String source, final Predicate<String> signatureFilter) {
+		this.data = data;
+		this.source = source;
+		this.item = new LinterRuleItem(signatureFilter);
+	}
+
+	/**
+	 * Scan a rule file and add its rules to {@code linterRules}.
+	 *
+	 * @return false if the file doesn't match the rule schema, nothing is added in this case
+	 */
+	static boolean scan(final byte[] data, final String source, final Map<String, List<LinterRule<?>>> linterRules) {
+		return scan(data, source, linterRules, null);
+	}
+
+	/**
+	 * Same as {@link #scan(byte[], String, Map)}, skipping rules of method signatures rejected by the
+	 * filter.
+	 */
+	static boolean scan(final byte[] data, final String source, final Map<String, List<LinterRule<?>>> linterRules,
+			final Predicate<String> signatureFilter) {
+		final LinterRuleXmlScanner scanner = new LinterRuleXmlScanner(data, source, signatureFilter);
+		try {
+			scanner.scanDocument();
+		} catch (final Mismatch e) {
+			return false;
+		}
+		for (final Map.Entry<String, List<LinterRule<?>>> entry : scanner.scannedRules.entrySet()) {
+			linterRules.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).addAll(entry.getValue());
+		}
+		return true;
+	}
+
+	private void scanDocument() throws Mismatch {
+		if (data.length >= 3 && data[0] == (byte) 0xEF && data[1] == (byte) 0xBB && data[2] == (byte) 0xBF) {
+			pos = 3;
+		}
+		while (true) {
+			skipWhitespace();
+			if (pos >= data.length) {
+				break;
+			}
+			if (data[pos] != '<' || pos + 1 >= data.length) {
+				throw MISMATCH; // text content
+			}
+			final byte next = data[pos + 1];
+			if (next == '?') {
+				skipPast('?', '>');
+			} else if (next == '!') {
+				if (!startsWith("<!--")) {
+					throw MISMATCH; // DTD or CDATA
+				}
+				skipPast('-', '>');
+			} else if (next == '/') {
+				pos += 2;
+				scanEndElement();
+			} else {
+				pos++;
+				scanStartElement();
+			}
+		}
+		if (depth != 0) {
+			throw MISMATCH;
+		}
+	}
+
+	private void scanStartElement() throws Mismatch {
+		final int level = readElementName();
+		if (level != depth) {
+			throw MISMATCH;
+		}
+		nameStart = -1;
+		valStart = -1;
+		boolean selfClosing = false;
+		while (true) {
+			skipWhitespace();
+			if (pos >= data.length) {
+				throw MISMATCH;
+			}
+			final byte b = data[pos];
+			if (b == '>') {
+				pos++;
+				break;
+			}
+			if (b == '/') {
+				if (pos + 1 >= data.length || data[pos + 1] != '>') {
+					throw MISMATCH;
+				}
+				pos += 2;
+				selfClosing = true;
+				break;
+			}
+			scanAttribute();
+		}
+		startElement(level);
+		if (selfClosing) {
+			endElement(level);
+		} else {
+			depth++;
+		}
+	}
+
+	private void scanEndElement() throws Mismatch {
+		final int level = readElementName();
+		if (level != depth - 1) {
+			throw MISMATCH;
+		}
+		skipWhitespace();
+		if (pos >= data.length || data[pos] != '>') {
+			throw MISMATCH;
+		}
+		pos++;
+		depth--;
+		endElement(level);
+	}
+
+	private void scanAttribute() throws Mismatch {
+		final int attrStart = pos;
+		while (pos < data.length && data[pos] != '=' && !isWhitespace(data[pos])) {
+			pos++;
+		}
+		final int attrEnd = pos;
+		skipWhitespace();
+		if (attrStart == attrEnd || pos >= data.length || data[pos] != '=') {
+			throw MISMATCH;
+		}
+		pos++;
+		skipWhitespace();
+		if (pos >= data.length || data[pos] != '"' && data[pos] != '\'') {
+			throw MISMATCH;
+		}
+		final byte quote = data[pos++];
+		final int start = pos;
+		while (pos < data.length && data[pos] != quote) {
+			final byte b = data[pos];
+			if (b == '<' || b == '\t' || b == '\n' || b == '\r') {
+				// parsers normalize whitespace in attribute values, leave that to them
+				throw MISMATCH;
+			}
+			pos++;
+		}
+		if (pos >= data.length) {
+			throw MISMATCH;
+		}
+		final int end = pos++;
+		if (equalsAscii(attrStart, attrEnd, NAME_ATTR)) {
+			nameStart = start;
+			nameEnd = end;
+		} else if (equalsAscii(attrStart, attrEnd, VAL_ATTR)) {
+			valStart = start;
+			valEnd = end;
+		}
+	}
+
+	private void startElement(final int level) throws Mismatch {
+		switch (level) {
+			case ITEM:
+				requireName();
+				item.start(decode(nameStart, nameEnd));
+				break;
+			case ANNOTATION:
+				requireName();
+				item.setAnnotationName(decodeAnnotationName());
+				break;
+			case VAL:
+				requireName();
+				if (valStart == -1) {
+					throw MISMATCH;
+				}
+				if (equalsAscii(nameStart, nameEnd, VALUE)) {
+					item.setConstantList(decode(valStart, valEnd));
+				} else if (equalsAscii(nameStart, nameEnd, FLAG)) {
+					item.setFlag(isTrue(valStart, valEnd));
+				} else if (hasEntity(nameStart, nameEnd)) {
+					item.setValue(decode(nameStart, nameEnd), decode(valStart, valEnd));
+				}
+				break;
+		}
+	}
+
+	private void endElement(final int level) {
+		if (level == ITEM) {
+			item.end(source, scannedRules);
+		}
+	}
+
+	private void requireName() throws Mismatch {
+		if (nameStart == -1) {
+			throw MISMATCH;
+		}
+	}
+
+	private String decodeAnnotationName() throws Mismatch {
+		final DefTypes[] types = DefTypes.values();
+		for (int i = 0; i < ANNOTATIONS.length; i++) {
+			if (equalsAscii(nameStart, nameEnd, ANNOTATIONS[i])) {
+				return types[i].getAndroidXClassName();
+			}
+		}
+		return decode(nameStart, nameEnd);
+	}
+
+	private boolean isTrue(final int start, final int end) throws Mismatch {
+		if (hasEntity(start, end)) {
+			return Boolean.parseBoolean(decode(start, end));
+		}
+		if (end - start != TRUE.length) {
+			return false;
+		}
+		for (int i = 0; i < TRUE.length; i++) {
+			if ((data[start + i] | 0x20) != TRUE[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private String decode(final int start, final int end) throws Mismatch {
+		if (!hasEntity(start, end)) {
+			return new String(data, start, end - start, StandardCharsets.UTF_8);
+		}
+		final StringBuilder sb = new StringBuilder(end - start);
+		int chunkStart = start;
+		int i = start;
+		while (i < end) {
+			if (data[i] != '&') {
+				i++;
+				continue;
+			}
+			sb.append(new String(data, chunkStart, i - chunkStart, StandardCharsets.UTF_8));
+			int semicolon = i + 1;
+			while (semicolon < end && data[semicolon] != ';') {
+				semicolon++;
+			}
+			if (semicolon == end) {
+				throw MISMATCH;
+			}
+			sb.append(decodeEntity(i + 1, semicolon));
+			i = semicolon + 1;
+			chunkStart = i;
+		}
+		sb.append(new String(data, chunkStart, end - chunkStart, StandardCharsets.UTF_8));
+		return sb.toString();
+	}
+
+	private String decodeEntity(final int start, final int end) throws Mismatch {
+		final String entity = new String(data, start, end - start, StandardCharsets.US_ASCII);
+		switch (entity) {
+			case "lt":
+				return "<";
+			case "gt":
+				return ">";
+			case "amp":
+				return "&";
+			case "quot":
+				return "\"";
+			case "apos":
+				return "'";
+		}
+		try {
+			if (entity.startsWith("#x")) {
+				return new String(Character.toChars(Integer.parseInt(entity.substring(2), 16)));
+			}
+			if (entity.startsWith("#")) {
+				return new String(Character.toChars(Integer.parseInt(entity.substring(1))));
+			}
+		} catch (final IllegalArgumentException e) {
+			throw MISMATCH;
+		}
+		throw MISMATCH;
+	}
+
+	private boolean hasEntity(final int start, final int end) {
+		for (int i = start; i < end; i++) {
+			if (data[i] == '&') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int readElementName() throws Mismatch {
+		final int start = pos;
+		while (pos < data.length) {
+			final byte b = data[pos];
+			if (b == '>' || b == '/' || isWhitespace(b)) {
+				break;
+			}
+			pos++;
+		}
+		for (int level = 0; level < ELEMENTS.length; level++) {
+			if (equalsAscii(start, pos, ELEMENTS[level])) {
+				return level;
+			}
+		}
+		throw MISMATCH;
+	}
+
+	private void skipPast(final char c1, final char c2) throws Mismatch {
+		for (int i = pos + 2; i + 1 < data.length; i++) {
+			if (data[i] == c1 && data[i + 1] == c2) {
+				pos = i + 2;
+				return;
+			}
+		}
+		throw MISMATCH;
+	}
+
+	private void skipWhitespace() {
+		while (pos < data.length && isWhitespace(data[pos])) {
+			pos++;
+		}
+	}
+
+	private boolean startsWith(final String prefix) {
+		if (pos + prefix.length() > data.length) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length(); i++) {
+			if (data[pos + i] != prefix.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean equalsAscii(final int start, final int end, final byte[] expected) {
+		if (end - start != expected.length) {
+			return false;
+		}
+		for (int i = 0; i < expected.length; i++) {
+			if (data[start + i] != expected[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isWhitespace(final byte b) {
+		return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+	}
+
+	private static byte[] ascii(final String str) {
+		return str.getBytes(StandardCharsets.US_ASCII);
+	}
+
+	private static final class Mismatch extends Exception {
+		private static final long serialVersionUID = 1L;
+
+		Mismatch() {
+			super("Rule file doesn't match the expected schema", null, false, false);
+		}
+	}
+}
@@ -0,0 +1,346 @@
+package jadx.plugins.linter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.gson.GsonBuilder;
+
+/**
+ * Counters of the rule loader and the linter pass, written as JSON report at the end of a run.
+ * <p>
+ * All counters are {@link LongAdder}s, so decompilation threads update them without contention.
+ * Per-rule counters are created on the first hit of a rule.
+ */
+final class LinterStats {
+
+	static final String REPORT_FILE = "android-linter-report.json";
+
+	// rule loading, written once by the loading thread
+	private volatile String loadSource = "none";
+	private volatile long loadNanos;
+	private volatile long loadWaitNanos;
+	private final LongAdder ruleFiles = new LongAdder();
+	private final LongAdder staxFallbacks = new LongAdder();
+	private final LongAdder skippedRuleFiles = new LongAdder();
+	private volatile long filterKept = -1;
+	private volatile long filterSkipped = -1;
+
+	// published rule tiers in order, with the tier of each rule source
+	private final List<Tier> tiers = new CopyOnWriteArrayList<>();
+	private final Map<String, String> sourceTiers = new ConcurrentHashMap<>();
+
+	private final LongAdder methods = new LongAdder();
+	private final LongAdder methodNanos = new LongAdder();
+	private final LongAccumulator maxMethodNanos = new LongAccumulator(Long::max, 0);
+	private final LongAdder budgetExceeded = new LongAdder();
+
+	private final LongAdder ruleHits = new LongAdder();
+	private final LongAdder replacements = new LongAdder();
+	private final LongAdder unfolds = new LongAdder();
+	private final LongAdder unmatched = new LongAdder();
+
+	private final Map<LinterRule<?>, RuleCounters> rules = new ConcurrentHashMap<>();
+
+	void recordLoad(final String source, final long nanos) {
+		this.loadSource = source;
+		this.loadNanos = nanos;
+	}
+
+	/**
+	 * Time the pass waited for rules loaded in the background.
+	 */
+	void recordLoadWait(final long nanos) {
+		this.loadWaitNanos = nanos;
+	}
+
+	void recordRuleFile() {
+		ruleFiles.increment();
+	}
+
+	void recordStaxFallback() {
+		staxFallbacks.increment();
+	}
+
+	/**
+	 * A rule file had no rules for methods referenced by the input.
+	 */
+	void recordSkippedRuleFile() {
+		skippedRuleFiles.increment();
+	}
+
+	/**
+	 * Result of selective rule loading, in distinct signatures.
+	 */
+	void recordFilteredRules(final long kept, final long skipped) {
+		this.filterKept = kept;
+		this.filterSkipped = skipped;
+	}
+
+	/**
+	 * A rule tier was published to the pass.
+	 *
+	 * @param nanos      time since tiered loading started
+	 * @param signatures signatures with rules in all tiers published so far
+	 * @param sources    rule sources of the tier
+	 */
+	void recordTier(final String tier, final long nanos, final int signatures, final Set<String> sources) {
+		for (final String source : sources) {
+			sourceTiers.putIfAbsent(source, tier);
+		}
+		tiers.add(new Tier(tier, nanos, signatures));
+	}
+
+	void recordMethod(final long nanos) {
+		methods.increment();
+		methodNanos.add(nanos);
+		maxMethodNanos.accumulate(nanos);
+	}
+
+	/**
+	 * A method was skipped as it exceeds the work budget.
+	 */
+	void recordBudgetExceeded() {
+		budgetExceeded.increment();
+	}
+
+	/**
+	 * A rule applies to a register argument of an invoke.
+	 */
+	void recordHit(final LinterRule<?> rule) {
+		ruleHits.increment();
+		getCounters(rule).hits.increment();
+	}
+
+	/**
+	 * A constant value was replaced by a field of the rule.
+	 */
+	void recordReplacement(final LinterRule<?> rule) {
+		replacements.increment();
+		getCounters(rule).replacements.increment();
+	}
+
+	/**
+	 * A flag value without a single field was unfolded into a comment.
+	 */
+	void recordUnfold(final LinterRule<?> rule) {
+		unfolds.increment();
+		getCounters(rule).unfolds.increment();
+	}
+
+	/**
+	 * A value has no field in the rule constants.
+	 */
+	void recordUnmatched(final LinterRule<?> rule) {
+		unmatched.increment();
+		getCounters(rule).unmatched.increment();
+	}
+
+	long getRuleHits() {
+		return ruleHits.sum();
+	}
+
+	long getReplacements() {
+		return replacements.sum();
+	}
+
+	long getUnfolds() {
+		return unfolds.sum();
+	}
+
+	long getUnmatched() {
+		return unmatched.sum();
+	}
+
+	long getMethods() {
+		return methods.sum();
+	}
+
+	long getBudgetExceeded() {
+		return budgetExceeded.sum();
+	}
+
+	private RuleCounters getCounters(final LinterRule<?> rule) {
+		final RuleCounters counters = rules.get(rule);
+		if (counters != null) {
+			return counters;
+		}
+		return rules.computeIfAbsent(rule, r -> new RuleCounters());
+	}
+
+	/**
+	 * Build the report content, counters of rules and artifacts are ordered by hits. Loaded rules
+	 * without hits are listed separately, which decodes all rules of mapped or paged stores.
+	 *
+	 * @param ruleStore loaded rules, null if none were loaded
+	 */
+	Map<String, Object> buildReport(final RulePrefilter prefilter, final LinterRuleStore ruleStore) {
+		final Map<String, Object> report = new LinkedHashMap<>();
+
+		final Map<String, Object> load = new LinkedHashMap<>();
+		load.put("source", loadSource);
+		load.put("nanos", loadNanos);
+		load.put("waitNanos", loadWaitNanos);
+		load.put("ruleFiles", ruleFiles.sum());
+		load.put("staxFallbacks", staxFallbacks.sum());
+		if (filterKept != -1) {
+			load.put("filterKept", filterKept);
+			load.put("filterSkipped", filterSkipped);
+			load.put("skippedRuleFiles", skippedRuleFiles.sum());
+		}
+		load.put("signatures", ruleStore == null ? 0 : ruleStore.size());
+		report.put("load", load);
+		if (!tiers.isEmpty()) {
+			report.put("tiers", buildTierReport());
+		}
+
+		final Map<String, Object> pass = new LinkedHashMap<>();
+		pass.put("methods", methods.sum());
+		pass.put("methodNanos", methodNanos.sum());
+		pass.put("maxMethodNanos", maxMethodNanos.get());
+		pass.put("budgetExceeded", budgetExceeded.sum());
+		if (prefilter != null) {
+			pass.put("invokesInspected", prefilter.getChecked());
+			pass.put("prefilterRejects", prefilter.getRejected());
+			pass.put("prefilterFalsePositives", prefilter.getFalsePositives());
+		}
+		pass.put("ruleHits", ruleHits.sum());
+		pass.put("replacements", replacements.sum());
+		pass.put("unfolds", unfolds.sum());
+		pass.put("unmatched", unmatched.sum());
+		pass.put("rulesHit", rules.size());
+		report.put("pass", pass);
+
+		final List<Map<String, Object>> ruleList = new ArrayList<>(rules.size());
+		final Map<String, long[]> artifacts = new TreeMap<>();
+		for (final Map.Entry<LinterRule<?>, RuleCounters> entry : rules.entrySet()) {
+			final LinterRule<?> rule = entry.getKey();
+			final RuleCounters counters = entry.getValue();
+			final Map<String, Object> ruleReport = new LinkedHashMap<>();
+			ruleReport.put("signature", rule.getMethodSignature());
+			ruleReport.put("argumentOffset", rule.getArgumentOffset());
+			ruleReport.put("source", rule.getSource());
+			ruleReport.put("hits", counters.hits.sum());
+			ruleReport.put("replacements", counters.replacements.sum());
+			ruleReport.put("unfolds", counters.unfolds.sum());
+			ruleReport.put("unmatched", counters.unmatched.sum());
+			ruleList.add(ruleReport);
+
+			final long[] artifact = artifacts.computeIfAbsent(rule.getSource(), s -> new long[5]);
+			artifact[0] += counters.hits.sum();
+			artifact[1] += counters.replacements.sum();
+			artifact[2] += counters.unmatched.sum();
+		}
+		ruleList.sort((r1, r2) -> Long.compare((Long) r2.get("hits"), (Long) r1.get("hits")));
+
+		final List<Map<String, Object>> unusedList = new ArrayList<>();
+		if (ruleStore != null) {
+			ruleStore.forEachSignature(signature -> {
+				final List<LinterRule<?>> loadedRules = ruleStore.getRules(signature);
+				if (loadedRules == null) {
+					return;
+				}
+				for (final LinterRule<?> rule : loadedRules) {
+					if (rule == null) {
+						continue;
+					}
+					final long[] artifact = artifacts.computeIfAbsent(rule.getSource(), s -> new long[5]);
+					artifact[3]++;
+					if (!rules.containsKey(rule)) {
+						artifact[4]++;
+						final Map<String, Object> ruleReport = new LinkedHashMap<>();
+						ruleReport.put("signature", rule.getMethodSignature());
+						ruleReport.put("argumentOffset", rule.getArgumentOffset());
+						ruleReport.put("source", rule.getSource());
+						unusedList.add(ruleReport);
+					}
+				}
+			});
+		}
+		unusedList.sort(Comparator.comparing((Map<String, Object> r) -> (String) r.get("signature"))
+				.thenComparing(r -> (Integer) r.get("argumentOffset")));
+
+		final List<Map<String, Object>> artifactList = new ArrayList<>(artifacts.size());
+		for (final Map.Entry<String, long[]> entry : artifacts.entrySet()) {
+			final Map<String, Object> artifactReport = new LinkedHashMap<>();
+			artifactReport.put("source", entry.getKey());
+			artifactReport.put("hits", entry.getValue()[0]);
+			artifactReport.put("replacements", entry.getValue()[1]);
+			artifactReport.put("unmatched", entry.getValue()[2]);
+			if (ruleStore != null) {
+				artifactReport.put("rules", entry.getValue()[3]);
+				artifactReport.put("unusedRules", entry.getValue()[4]);
+			}
+			artifactList.add(artifactReport);
+		}
+		artifactList.sort((a1, a2) -> Long.compare((Long) a2.get("hits"), (Long) a1.get("hits")));
+		report.put("artifacts", artifactList);
+		report.put("rules", ruleList);
+		report.put("unusedRules", unusedList);
+		return report;
+	}
+
+	private List<Map<String, Object>> buildTierReport() {
+		final Map<String, long[]> tierHits = new HashMap<>();
+		for (final Map.Entry<LinterRule<?>, RuleCounters> entry : rules.entrySet()) {
+			final String tier = sourceTiers.get(entry.getKey().getSource());
+			if (tier != null) {
+				final long[] hits = tierHits.computeIfAbsent(tier, t -> new long[2]);
+				hits[0] += entry.getValue().hits.sum();
+				hits[1] += entry.getValue().replacements.sum();
+			}
+		}
+		final List<Map<String, Object>> tierList = new ArrayList<>(tiers.size());
+		for (final Tier tier : tiers) {
+			final long[] hits = tierHits.getOrDefault(tier.name, new long[2]);
+			final Map<String, Object> tierReport = new LinkedHashMap<>();
+			tierReport.put("name", tier.name);
+			tierReport.put("publishedNanos", tier.nanos);
+			tierReport.put("signatures", tier.signatures);
+			tierReport.put("hits", hits[0]);
+			tierReport.put("replacements", hits[1]);
+			tierList.add(tierReport);
+		}
+		return tierList;
+	}
+
+	void writeReport(final File file, final RulePrefilter prefilter, final LinterRuleStore ruleStore) throws IOException {
+		final Map<String, Object> report = buildReport(prefilter, ruleStore);
+		try (final Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create().toJson(report, writer);
+		}
+	}
+
+	private static final class Tier {
+		private final String name;
+		private final long nanos;
+		private final int signatures;
+
+		private Tier(final String name, final long nanos, final int signatures) {
+			this.name = name;
+			this.nanos = nanos;
+			this.signatures = signatures;
+		}
+	}
+
+	private static final class RuleCounters {
+		private final LongAdder hits = new LongAdder();
+		private final LongAdder replacements = new LongAdder();
+		private final LongAdder unfolds = new LongAdder();
+		private final LongAdder unmatched = new LongAdder();
+	}
+}
@@ -1,6 +1,9 @@
 package jadx.plugins.linter;
 
+import java.util.Map;
+
 import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.IFieldInfoRef;
 
 class LongLinterRule extends LinterRule<Long> {
 	public LongLinterRule(final String methodSignature, final int argumentOffset, final boolean flag, final String source,
@@ -13,6 +16,11 @@ class LongLinterRule extends LinterRule<Long> {
 		return Long.parseLong(value);
 	}
 
+	@Override
+	protected RuleConstants compileConstants(final Map<Long, IFieldInfoRef> constantMap) {
+		return NumericRuleConstants.of(constantMap);
+	}
+
 	@Override
 	DefTypes getType() {
 		return DefTypes.LONG_DEF;
@@ -0,0 +1,104 @@
+package jadx.plugins.linter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.core.dex.nodes.RootNode;
+
+/**
+ * Rule store backed by the memory-mapped {@link RuleSnapshot} in the jadx cache directory.
+ * <p>
+ * Signatures and constants are looked up directly in the mapped pages, which are shared between all
+ * jadx processes through the OS page cache. Only rules of signatures found in the input are decoded
+ * and kept on the heap.
+ */
+class MappedRuleStore implements LinterRuleStore {
+
+	private static final Logger LOG = LoggerFactory.getLogger(MappedRuleStore.class);
+
+	private final RuleBundle bundle;
+	private final ConstantMapCache constantMaps;
+	private final Map<String, ArgumentRules> decodedRules = new ConcurrentHashMap<>();
+
+	private MappedRuleStore(final RuleBundle bundle, final RootNode root, final boolean lazyFields) {
+		this.bundle = bundle;
+		this.constantMaps = new ConstantMapCache((className, constantName) -> bundle.findConstant(className + '.' + constantName), root,
+				lazyFields);
+	}
+
+	/**
+	 * Map the rule snapshot, write it first if missing or outdated.
+	 *
+	 * @return null if the snapshot could not be created or mapped
+	 */
+	public static MappedRuleStore open(final LinterRuleLoader ruleLoader, final RootNode root) {
+		final String key = RuleSnapshot.buildKey(ruleLoader.loadIndexHash());
+		RuleBundle bundle = RuleSnapshot.map(key);
+		if (bundle == null) {
+			ruleLoader.loadRulesAndConstants();
+			// external rule files are stored while loading, packaged rules and rule directories are not
+			if (!ruleLoader.isSnapshotWritten() && !ruleLoader.writeRuleSnapshot()) {
+				return null;
+			}
+			bundle = RuleSnapshot.map(key);
+			if (bundle == null) {
+				LOG.warn("Failed to map linter rule snapshot {}", RuleSnapshot.getSnapshotFile());
+				return null;
+			}
+		}
+		return new MappedRuleStore(bundle, root, ruleLoader.isLazyFields());
+	}
+
+	@Override
+	public List<LinterRule<?>> getRules(final String methodSignature) {
+		final ArgumentRules rules = getDecodedRules(methodSignature);
+		return rules == null ? null : rules.getRules();
+	}
+
+	@Override
+	public ArgumentRules getArgumentRules(final String className, final String methodProto) {
+		return getDecodedRules(className + ' ' + methodProto);
+	}
+
+	private ArgumentRules getDecodedRules(final String methodSignature) {
+		final ArgumentRules rules = decodedRules.get(methodSignature);
+		if (rules != null) {
+			return rules;
+		}
+		final int sigIdx = bundle.findSignature(methodSignature);
+		if (sigIdx == -1) {
+			return null;
+		}
+		return decodedRules.computeIfAbsent(methodSignature, s -> decodeRules(sigIdx));
+	}
+
+	@Override
+	public boolean hasClassRules(final String className) {
+		return bundle.hasSignaturePrefix(className + ' ');
+	}
+
+	@Override
+	public void forEachSignature(final Consumer<String> consumer) {
+		for (int i = 0; i < bundle.getSignatureCount(); i++) {
+			consumer.accept(bundle.getSignature(i));
+		}
+	}
+
+	@Override
+	public int size() {
+		return bundle.getSignatureCount();
+	}
+
+	private ArgumentRules decodeRules(final int sigIdx) {
+		final List<LinterRule<?>> rules = bundle.readRules(sigIdx);
+		for (final LinterRule<?> rule : rules) {
+			constantMaps.apply(rule);
+		}
+		return ArgumentRules.of(rules);
+	}
+}
@@ -0,0 +1,107 @@
+package jadx.plugins.linter;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import jadx.core.dex.nodes.IFieldInfoRef;
+
+/**
+ * Int and long constants as parallel arrays sorted by value, with an open addressing index on the
+ * primitive value so lookups don't box.
+ */
+final class NumericRuleConstants implements RuleConstants {
+
+	private final long[] values;
+	private final IFieldInfoRef[] fields;
+	// linear probing table of indexes into values, -1 for empty slots, at most half full
+	private final int[] slots;
+	private final int mask;
+
+	private volatile FlagMasks flagMasks;
+
+	private NumericRuleConstants(final long[] values, final IFieldInfoRef[] fields) {
+		this.values = values;
+		this.fields = fields;
+		final int capacity = Integer.highestOneBit(Math.max(values.length, 1) * 2 - 1) << 1;
+		this.slots = new int[capacity];
+		this.mask = capacity - 1;
+		Arrays.fill(slots, -1);
+		for (int i = 0; i < values.length; i++) {
+			int slot = hash(values[i]) & mask;
+			while (slots[slot] != -1) {
+				slot = (slot + 1) & mask;
+			}
+			slots[slot] = i;
+		}
+	}
+
+	static NumericRuleConstants of(final Map<? extends Number, IFieldInfoRef> constantMap) {
+		@SuppressWarnings("unchecked")
+		final Map.Entry<? extends Number, IFieldInfoRef>[] entries = constantMap.entrySet().toArray(new Map.Entry[0]);
+		Arrays.sort(entries, Comparator.comparingLong(e -> e.getKey().longValue()));
+		final long[] values = new long[entries.length];
+		final IFieldInfoRef[] fields = new IFieldInfoRef[entries.length];
+		for (int i = 0; i < entries.length; i++) {
+			values[i] = entries[i].getKey().longValue();
+			fields[i] = entries[i].getValue();
+		}
+		return new NumericRuleConstants(values, fields);
+	}
+
+	@Override
+	public IFieldInfoRef get(final long value) {
+		int slot = hash(value) & mask;
+		while (true) {
+			final int idx = slots[slot];
+			if (idx == -1) {
+				return null;
+			}
+			if (values[idx] == value) {
+				return fields[idx];
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	@Override
+	public int size() {
+		return values.length;
+	}
+
+	@Override
+	public void forEachField(final Consumer<IFieldInfoRef> consumer) {
+		for (final IFieldInfoRef field : fields) {
+			consumer.accept(field);
+		}
+	}
+
+	/**
+	 * @return constant value at index, values are in ascending order
+	 */
+	long getValue(final int idx) {
+		return values[idx];
+	}
+
+	IFieldInfoRef getField(final int idx) {
+		return fields[idx];
+	}
+
+	/**
+	 * @return flag masks of these constants, built on first use (concurrent builds give equal results)
+	 */
+	FlagMasks getFlagMasks() {
+		FlagMasks masks = flagMasks;
+		if (masks == null) {
+			masks = FlagMasks.of(this);
+			flagMasks = masks;
+		}
+		return masks;
+	}
+
+	private static int hash(final long value) {
+		final long h = value * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+}
@@ -0,0 +1,176 @@
+package jadx.plugins.linter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.core.dex.nodes.RootNode;
+
+/**
+ * Rule store decoding the rules of a {@link RuleBundle} one package at a time.
+ * <p>
+ * On open only a directory of signature index ranges per package of the declaring class is built. The
+ * rules of a package (segment) are decoded and mapped to constants on the first lookup of any of its
+ * classes, packages which are never called are never decoded.
+ */
+class PagedRuleStore implements LinterRuleStore {
+
+	private static final Logger LOG = LoggerFactory.getLogger(PagedRuleStore.class);
+
+	private final RuleBundle bundle;
+	private final ConstantMapCache constantMaps;
+	// signature index ranges as (start, end) pairs per package
+	private final Map<String, int[]> directory;
+	// class name to method proto to rules, per loaded package
+	private final Map<String, Map<String, Map<String, ArgumentRules>>> segments = new ConcurrentHashMap<>();
+
+	PagedRuleStore(final RuleBundle bundle, final RootNode root, final boolean lazyFields) {
+		this.bundle = bundle;
+		this.constantMaps = new ConstantMapCache((className, constantName) -> bundle.findConstant(className + '.' + constantName), root,
+				lazyFields);
+		this.directory = buildDirectory(bundle);
+	}
+
+	/**
+	 * @return null if no rule bundle is available
+	 */
+	public static PagedRuleStore open(final LinterRuleLoader ruleLoader, final RootNode root) {
+		final RuleBundle bundle = ruleLoader.openRuleBundle();
+		if (bundle == null) {
+			return null;
+		}
+		return new PagedRuleStore(bundle, root, ruleLoader.isLazyFields());
+	}
+
+	private static Map<String, int[]> buildDirectory(final RuleBundle bundle) {
+		final Map<String, List<Integer>> ranges = new HashMap<>();
+		String currentPkg = null;
+		List<Integer> current = null;
+		for (int i = 0; i < bundle.getSignatureCount(); i++) {
+			final String pkg = getPackage(getClassName(bundle.getSignature(i)));
+			if (!pkg.equals(currentPkg)) {
+				if (current != null) {
+					current.add(i);
+				}
+				currentPkg = pkg;
+				current = ranges.computeIfAbsent(pkg, p -> new ArrayList<>(2));
+				current.add(i);
+			}
+		}
+		if (current != null) {
+			current.add(bundle.getSignatureCount());
+		}
+		final Map<String, int[]> directory = new HashMap<>(ranges.size() * 2);
+		for (final Map.Entry<String, List<Integer>> entry : ranges.entrySet()) {
+			final List<Integer> bounds = entry.getValue();
+			final int[] array = new int[bounds.size()];
+			for (int i = 0; i < array.length; i++) {
+				array[i] = bounds.get(i);
+			}
+			directory.put(entry.getKey(), array);
+		}
+		return directory;
+	}
+
+	@Override
+	public List<LinterRule<?>> getRules(final String methodSignature) {
+		final int idx = methodSignature.indexOf(' ');
+		if (idx == -1) {
+			return null;
+		}
+		return LinterRuleStore.super.getRules(methodSignature.substring(0, idx), methodSignature.substring(idx + 1));
+	}
+
+	@Override
+	public ArgumentRules getArgumentRules(final String className, final String methodProto) {
+		final Map<String, Map<String, ArgumentRules>> segment = getSegment(getPackage(className));
+		if (segment == null) {
+			return null;
+		}
+		final Map<String, ArgumentRules> methodRules = segment.get(className);
+		return methodRules == null ? null : methodRules.get(methodProto);
+	}
+
+	@Override
+	public boolean hasClassRules(final String className) {
+		return bundle.hasSignaturePrefix(className + ' ');
+	}
+
+	@Override
+	public void forEachSignature(final Consumer<String> consumer) {
+		for (int i = 0; i < bundle.getSignatureCount(); i++) {
+			consumer.accept(bundle.getSignature(i));
+		}
+	}
+
+	@Override
+	public int size() {
+		return bundle.getSignatureCount();
+	}
+
+	/**
+	 * Number of packages decoded so far.
+	 */
+	int getLoadedSegments() {
+		return segments.size();
+	}
+
+	int getSegmentCount() {
+		return directory.size();
+	}
+
+	private Map<String, Map<String, ArgumentRules>> getSegment(final String pkg) {
+		final Map<String, Map<String, ArgumentRules>> segment = segments.get(pkg);
+		if (segment != null) {
+			return segment;
+		}
+		final int[] ranges = directory.get(pkg);
+		if (ranges == null) {
+			return null;
+		}
+		return segments.computeIfAbsent(pkg, p -> loadSegment(p, ranges));
+	}
+
+	private Map<String, Map<String, ArgumentRules>> loadSegment(final String pkg, final int[] ranges) {
+		final Map<String, Map<String, ArgumentRules>> segment = new HashMap<>();
+		int signatures = 0;
+		for (int r = 0; r < ranges.length; r += 2) {
+			for (int i = ranges[r]; i < ranges[r + 1]; i++) {
+				final String signature = bundle.getSignature(i);
+				final int idx = signature.indexOf(' ');
+				if (idx == -1) {
+					continue;
+				}
+				final List<LinterRule<?>> rules = bundle.readRules(i);
+				for (final LinterRule<?> rule : rules) {
+					constantMaps.apply(rule);
+				}
+				segment.computeIfAbsent(signature.substring(0, idx), c -> new HashMap<>())
+						.put(signature.substring(idx + 1), ArgumentRules.of(rules));
+				signatures++;
+			}
+		}
+		LOG.debug("Linter rule segment {} loaded: {} signatures", pkg, signatures);
+		return segment.isEmpty() ? Collections.emptyMap() : segment;
+	}
+
+	private static String getClassName(final String signature) {
+		final int idx = signature.indexOf(' ');
+		return idx == -1 ? signature : signature.substring(0, idx);
+	}
+
+	/**
+	 * @return class name up to the last '.', nested classes are in the segment of their outer class
+	 */
+	static String getPackage(final String className) {
+		final int idx = className.lastIndexOf('.');
+		return idx == -1 ? "" : className.substring(0, idx);
+	}
+}
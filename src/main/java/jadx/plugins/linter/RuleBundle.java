@@ -0,0 +1,393 @@
+package jadx.plugins.linter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Compact binary form of all linter rules and constants.
+ * <p>
+ * Layout (big endian): header, string table (offsets + UTF-8 data), signature index sorted by
+ * UTF-8 bytes, fixed size rule records and fixed size constant records sorted by name. All
+ * sections are addressed by absolute offsets, so the bundle can be read from a heap or a mapped
+ * buffer without decoding it up front.
+ */
+final class RuleBundle {
+
+	static final String BUNDLE_FILE = "rules.bundle";
+
+	private static final int MAGIC = 0x4A4C5242; // "JLRB"
+	private static final int FORMAT_VERSION = 1;
+
+	private static final int HEADER_SIZE = 13 * 4;
+	private static final int SIGNATURE_RECORD_SIZE = 12;
+	private static final int RULE_RECORD_SIZE = 12;
+	private static final int CONSTANT_RECORD_SIZE = 16;
+
+	private static final int CONSTANT_LONG = 0;
+	private static final int CONSTANT_STRING = 1;
+
+	private final ByteBuffer buf;
+	private final int stringCount;
+	private final int stringOffsetsPos;
+	private final int stringDataPos;
+	private final int signatureCount;
+	private final int signaturesPos;
+	private final int ruleCount;
+	private final int rulesPos;
+	private final int constantCount;
+	private final int constantsPos;
+	private final int keyIdx;
+
+	private RuleBundle(final ByteBuffer buf) throws IOException {
+		this.buf = buf;
+		if (buf.limit() < HEADER_SIZE || buf.getInt(0) != MAGIC) {
+			throw new IOException("Not a linter rule bundle");
+		}
+		if (buf.getInt(4) != FORMAT_VERSION) {
+			throw new IOException("Unsupported linter rule bundle version: " + buf.getInt(4));
+		}
+		this.stringCount = buf.getInt(8);
+		this.stringOffsetsPos = buf.getInt(12);
+		this.stringDataPos = buf.getInt(16);
+		this.signatureCount = buf.getInt(20);
+		this.signaturesPos = buf.getInt(24);
+		this.ruleCount = buf.getInt(28);
+		this.rulesPos = buf.getInt(32);
+		this.constantCount = buf.getInt(36);
+		this.constantsPos = buf.getInt(40);
+		this.keyIdx = buf.getInt(44);
+		if (constantsPos + (long) constantCount * CONSTANT_RECORD_SIZE > buf.limit()) {
+			throw new IOException("Truncated linter rule bundle");
+		}
+	}
+
+	static RuleBundle read(final InputStream is) throws IOException {
+		return new RuleBundle(ByteBuffer.wrap(is.readAllBytes()));
+	}
+
+	static RuleBundle wrap(final ByteBuffer buf) throws IOException {
+		return new RuleBundle(buf);
+	}
+
+	/**
+	 * Key of the rule set the bundle was built from, usually the hash of the rule index.
+	 */
+	String getKey() {
+		return keyIdx == -1 ? null : getString(keyIdx);
+	}
+
+	int getSignatureCount() {
+		return signatureCount;
+	}
+
+	int getRuleCount() {
+		return ruleCount;
+	}
+
+	int getConstantCount() {
+		return constantCount;
+	}
+
+	String getSignature(final int sigIdx) {
+		return getString(buf.getInt(signaturesPos + sigIdx * SIGNATURE_RECORD_SIZE));
+	}
+
+	/**
+	 * Binary search in the signature index.
+	 *
+	 * @return signature index or -1 if the bundle has no rules for this signature
+	 */
+	int findSignature(final String methodSignature) {
+		final byte[] key = methodSignature.getBytes(StandardCharsets.UTF_8);
+		int low = 0;
+		int high = signatureCount - 1;
+		while (low <= high) {
+			final int mid = (low + high) >>> 1;
+			final int cmp = compareString(buf.getInt(signaturesPos + mid * SIGNATURE_RECORD_SIZE), key);
+			if (cmp < 0) {
+				low = mid + 1;
+			} else if (cmp > 0) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return true if any signature starts with the prefix
+	 */
+	boolean hasSignaturePrefix(final String prefix) {
+		final byte[] key = prefix.getBytes(StandardCharsets.UTF_8);
+		int low = 0;
+		int high = signatureCount;
+		while (low < high) {
+			final int mid = (low + high) >>> 1;
+			if (compareString(buf.getInt(signaturesPos + mid * SIGNATURE_RECORD_SIZE), key) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low < signatureCount && startsWith(buf.getInt(signaturesPos + low * SIGNATURE_RECORD_SIZE), key);
+	}
+
+	List<LinterRule<?>> readRules(final int sigIdx) {
+		final int pos = signaturesPos + sigIdx * SIGNATURE_RECORD_SIZE;
+		final String methodSignature = getString(buf.getInt(pos));
+		final int firstRule = buf.getInt(pos + 4);
+		final int count = buf.getInt(pos + 8);
+		final List<LinterRule<?>> rules = new ArrayList<>(count);
+		for (int i = firstRule; i < firstRule + count; i++) {
+			rules.add(readRule(methodSignature, i));
+		}
+		return rules;
+	}
+
+	/**
+	 * Binary search in the constant table.
+	 *
+	 * @return constant value as it appears in the constant files or null if unknown
+	 */
+	String findConstant(final String fullConstantName) {
+		final byte[] key = fullConstantName.getBytes(StandardCharsets.UTF_8);
+		int low = 0;
+		int high = constantCount - 1;
+		while (low <= high) {
+			final int mid = (low + high) >>> 1;
+			final int cmp = compareString(buf.getInt(constantsPos + mid * CONSTANT_RECORD_SIZE), key);
+			if (cmp < 0) {
+				low = mid + 1;
+			} else if (cmp > 0) {
+				high = mid - 1;
+			} else {
+				return readConstantValue(mid);
+			}
+		}
+		return null;
+	}
+
+	void loadInto(final Map<String, List<LinterRule<?>>> linterRules, final ConstantTable constants) {
+		loadInto(linterRules, constants, null);
+	}
+
+	/**
+	 * Load all constants and the rules of signatures accepted by the filter.
+	 *
+	 * @param signatureFilter null to load all rules
+	 */
+	void loadInto(final Map<String, List<LinterRule<?>>> linterRules, final ConstantTable constants,
+			final Predicate<String> signatureFilter) {
+		for (int i = 0; i < signatureCount; i++) {
+			final String signature = getSignature(i);
+			if (signatureFilter == null || signatureFilter.test(signature)) {
+				linterRules.computeIfAbsent(signature, k -> new ArrayList<>()).addAll(readRules(i));
+			}
+		}
+		for (int i = 0; i < constantCount; i++) {
+			constants.put(getString(buf.getInt(constantsPos + i * CONSTANT_RECORD_SIZE)), readConstantValue(i));
+		}
+		constants.compact();
+	}
+
+	private LinterRule<?> readRule(final String methodSignature, final int ruleIdx) {
+		final int pos = rulesPos + ruleIdx * RULE_RECORD_SIZE;
+		final DefTypes type = DefTypes.values()[buf.get(pos)];
+		final boolean flag = buf.get(pos + 1) != 0;
+		final int argumentOffset = buf.getShort(pos + 2);
+		final String source = getString(buf.getInt(pos + 4));
+		final int constantsIdx = buf.getInt(pos + 8);
+		final String constantListString = constantsIdx == -1 ? null : getString(constantsIdx);
+		switch (type) {
+			case INT_DEF:
+				return new IntLinterRule(methodSignature, argumentOffset, flag, source, constantListString);
+			case LONG_DEF:
+				return new LongLinterRule(methodSignature, argumentOffset, flag, source, constantListString);
+			case STRING_DEF:
+				return new StringLinterRule(methodSignature, argumentOffset, flag, source, constantListString);
+			default:
+				throw new IllegalStateException("Unknown rule type: " + type);
+		}
+	}
+
+	private String readConstantValue(final int constIdx) {
+		final int pos = constantsPos + constIdx * CONSTANT_RECORD_SIZE;
+		final long value = buf.getLong(pos + 8);
+		return buf.getInt(pos + 4) == CONSTANT_LONG ? Long.toString(value) : getString((int) value);
+	}
+
+	private String getString(final int idx) {
+		final int start = buf.getInt(stringOffsetsPos + idx * 4);
+		final int end = buf.getInt(stringOffsetsPos + (idx + 1) * 4);
+		final int len = end - start;
+		if (buf.hasArray()) {
+			return new String(buf.array(), buf.arrayOffset() + stringDataPos + start, len, StandardCharsets.UTF_8);
+		}
+		final byte[] bytes = new byte[len];
+		final ByteBuffer dup = buf.duplicate();
+		dup.position(stringDataPos + start);
+		dup.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private int compareString(final int idx, final byte[] key) {
+		final int start = stringDataPos + buf.getInt(stringOffsetsPos + idx * 4);
+		final int len = stringDataPos + buf.getInt(stringOffsetsPos + (idx + 1) * 4) - start;
+		final int n = Math.min(len, key.length);
+		for (int i = 0; i < n; i++) {
+			final int cmp = (buf.get(start + i) & 0xFF) - (key[i] & 0xFF);
+			if (cmp != 0) {
+				return cmp;
+			}
+		}
+		return len - key.length;
+	}
+
+	private boolean startsWith(final int idx, final byte[] prefix) {
+		final int start = stringDataPos + buf.getInt(stringOffsetsPos + idx * 4);
+		final int len = stringDataPos + buf.getInt(stringOffsetsPos + (idx + 1) * 4) - start;
+		if (len < prefix.length) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length; i++) {
+			if (buf.get(start + i) != prefix[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	static void write(final OutputStream out, final String key, final Map<String, List<LinterRule<?>>> linterRules,
+			final Map<String, String> constantMap) throws IOException {
+		final StringTable strings = new StringTable();
+		final int keyIdx = key == null ? -1 : strings.add(key);
+
+		final List<byte[]> signatures = new ArrayList<>(linterRules.size());
+		for (final Map.Entry<String, List<LinterRule<?>>> entry : linterRules.entrySet()) {
+			// rule files may have items without signature or with unknown annotations
+			if (entry.getKey() != null && entry.getValue().stream().anyMatch(Objects::nonNull)) {
+				signatures.add(entry.getKey().getBytes(StandardCharsets.UTF_8));
+			}
+		}
+		signatures.sort(Arrays::compareUnsigned);
+		final List<byte[]> constantNames = new ArrayList<>(constantMap.size());
+		for (final String constantName : constantMap.keySet()) {
+			constantNames.add(constantName.getBytes(StandardCharsets.UTF_8));
+		}
+		constantNames.sort(Arrays::compareUnsigned);
+
+		final ByteArrayOutputStream sigSection = new ByteArrayOutputStream();
+		final ByteArrayOutputStream ruleSection = new ByteArrayOutputStream();
+		final DataOutputStream sigOut = new DataOutputStream(sigSection);
+		final DataOutputStream ruleOut = new DataOutputStream(ruleSection);
+		int ruleCount = 0;
+		for (final byte[] sigBytes : signatures) {
+			final String signature = new String(sigBytes, StandardCharsets.UTF_8);
+			final List<LinterRule<?>> rules = linterRules.get(signature);
+			sigOut.writeInt(strings.add(signature));
+			sigOut.writeInt(ruleCount);
+			sigOut.writeInt((int) rules.stream().filter(Objects::nonNull).count());
+			for (final LinterRule<?> rule : rules) {
+				if (rule == null) {
+					continue;
+				}
+				ruleOut.writeByte(rule.getType().ordinal());
+				ruleOut.writeByte(rule.isFlag() ? 1 : 0);
+				ruleOut.writeShort(rule.getArgumentOffset());
+				ruleOut.writeInt(strings.add(rule.getSource()));
+				ruleOut.writeInt(rule.getConstantListString() == null ? -1 : strings.add(rule.getConstantListString()));
+				ruleCount++;
+			}
+		}
+
+		final ByteArrayOutputStream constSection = new ByteArrayOutputStream();
+		final DataOutputStream constOut = new DataOutputStream(constSection);
+		for (final byte[] nameBytes : constantNames) {
+			final String name = new String(nameBytes, StandardCharsets.UTF_8);
+			final String value = constantMap.get(name);
+			constOut.writeInt(strings.add(name));
+			final Long longValue = parseCanonicalLong(value);
+			if (longValue != null) {
+				constOut.writeInt(CONSTANT_LONG);
+				constOut.writeLong(longValue);
+			} else {
+				constOut.writeInt(CONSTANT_STRING);
+				constOut.writeLong(strings.add(value));
+			}
+		}
+
+		final byte[] stringData = strings.data.toByteArray();
+		final int stringOffsetsPos = HEADER_SIZE;
+		final int stringDataPos = stringOffsetsPos + (strings.offsets.size() + 1) * 4;
+		final int signaturesPos = stringDataPos + stringData.length;
+		final int rulesPos = signaturesPos + sigSection.size();
+		final int constantsPos = rulesPos + ruleSection.size();
+
+		final DataOutputStream dos = new DataOutputStream(out);
+		dos.writeInt(MAGIC);
+		dos.writeInt(FORMAT_VERSION);
+		dos.writeInt(strings.offsets.size());
+		dos.writeInt(stringOffsetsPos);
+		dos.writeInt(stringDataPos);
+		dos.writeInt(signatures.size());
+		dos.writeInt(signaturesPos);
+		dos.writeInt(ruleCount);
+		dos.writeInt(rulesPos);
+		dos.writeInt(constantNames.size());
+		dos.writeInt(constantsPos);
+		dos.writeInt(keyIdx);
+		dos.writeInt(0); // reserved
+		for (final int offset : strings.offsets) {
+			dos.writeInt(offset);
+		}
+		dos.writeInt(stringData.length);
+		dos.write(stringData);
+		sigSection.writeTo(dos);
+		ruleSection.writeTo(dos);
+		constSection.writeTo(dos);
+		dos.flush();
+	}
+
+	/**
+	 * Numbers are stored as long values only if they can be restored to the exact same string.
+	 */
+	static Long parseCanonicalLong(final String value) {
+		try {
+			final long l = Long.parseLong(value);
+			return Long.toString(l).equals(value) ? l : null;
+		} catch (final NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private static final class StringTable {
+		private final Map<String, Integer> indexes = new HashMap<>();
+		private final List<Integer> offsets = new ArrayList<>();
+		private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+
+		int add(final String str) {
+			final Integer idx = indexes.get(str);
+			if (idx != null) {
+				return idx;
+			}
+			final int newIdx = offsets.size();
+			offsets.add(data.size());
+			data.writeBytes(str.getBytes(StandardCharsets.UTF_8));
+			indexes.put(str, newIdx);
+			return newIdx;
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package jadx.plugins.linter;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Build time tool: compile all rule and constant files into a single {@link RuleBundle}.
+ * <p>
+ * Arguments: rule directory (containing 'rules-integrity.json') and bundle output file.
+ */
+public class RuleBundleGenerator {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RuleBundleGenerator.class);
+
+	public static void main(final String[] args) throws IOException {
+		if (args.length != 2) {
+			throw new IllegalArgumentException("Expected arguments: <rules dir> <output file>");
+		}
+		final File rulesDir = new File(args[0]);
+		final File outputFile = new File(args[1]);
+
+		final LinterRuleLoader ruleLoader = new LinterRuleLoader(null, rulesDir);
+		ruleLoader.loadRulesAndConstants();
+
+		final File outputDir = outputFile.getParentFile();
+		if (outputDir != null && !outputDir.exists() && !outputDir.mkdirs()) {
+			throw new IOException("Could not create directory " + outputDir);
+		}
+		try (final OutputStream out = new BufferedOutputStream(new FileOutputStream(outputFile))) {
+			RuleBundle.write(out, ruleLoader.getIndexHash(), ruleLoader.getLinterRules(), ruleLoader.constantTable.toMap());
+		}
+		LOG.info("Linter rule bundle written to {}: {} signatures, {} constants", outputFile, ruleLoader.getLinterRules().size(),
+				ruleLoader.constantTable.size());
+	}
+}
@@ -0,0 +1,66 @@
+package jadx.plugins.linter;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.api.plugins.input.data.ICodeReader;
+import jadx.api.plugins.input.insns.InsnIndexType;
+import jadx.core.dex.info.MethodInfo;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+
+/**
+ * Find methods calling any method with rules by scanning the raw instructions of all loaded
+ * methods, before they are decoded into jadx instructions.
+ * <p>
+ * jadx usage info only covers methods of the input, most rules target platform and library methods
+ * which are not loaded, so method references are checked directly.
+ */
+final class RuleCallerScan {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RuleCallerScan.class);
+
+	private RuleCallerScan() {
+	}
+
+	/**
+	 * @param hasRules check if a called method has rules
+	 * @return infos of methods with at least one call to a method with rules
+	 */
+	static Set<MethodInfo> scan(final RootNode root, final Predicate<MethodInfo> hasRules) {
+		final long start = System.currentTimeMillis();
+		final Set<MethodInfo> callers = ConcurrentHashMap.newKeySet();
+		root.getClasses().parallelStream().forEach(cls -> scanClass(root, cls, hasRules, callers));
+		LOG.debug("Linter rule caller scan: {} methods call rule methods, took {} ms", callers.size(),
+				System.currentTimeMillis() - start);
+		return callers;
+	}
+
+	private static void scanClass(final RootNode root, final ClassNode cls, final Predicate<MethodInfo> hasRules,
+			final Set<MethodInfo> callers) {
+		for (final MethodNode mth : cls.getMethods()) {
+			final ICodeReader codeReader = mth.getCodeReader();
+			if (codeReader == null) {
+				continue;
+			}
+			final boolean[] found = new boolean[1];
+			codeReader.visitInstructions(insn -> {
+				if (found[0] || insn.getIndexType() != InsnIndexType.METHOD_REF) {
+					return;
+				}
+				insn.decode();
+				if (hasRules.test(MethodInfo.fromRef(root, insn.getIndexAsMethod()))) {
+					found[0] = true;
+				}
+			});
+			if (found[0]) {
+				callers.add(mth.getMethodInfo());
+			}
+		}
+	}
+}
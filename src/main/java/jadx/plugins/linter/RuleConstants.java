@@ -0,0 +1,29 @@
+package jadx.plugins.linter;
+
+import java.util.function.Consumer;
+
+import jadx.core.dex.nodes.IFieldInfoRef;
+
+/**
+ * Read-only mapping of constant values to fields for a single constant list.
+ */
+interface RuleConstants {
+
+	/**
+	 * @return field of an int or long constant, null if not found
+	 */
+	default IFieldInfoRef get(final long value) {
+		return null;
+	}
+
+	/**
+	 * @return field of a string constant, null if not found
+	 */
+	default IFieldInfoRef get(final String value) {
+		return null;
+	}
+
+	int size();
+
+	void forEachField(Consumer<IFieldInfoRef> consumer);
+}
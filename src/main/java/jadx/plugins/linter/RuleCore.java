@@ -0,0 +1,78 @@
+package jadx.plugins.linter;
+
+import java.lang.ref.SoftReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parsed rules with mapped constants which don't depend on the root node of a decompiler, shared by all
+ * decompiler instances of the JVM.
+ * <p>
+ * Field references of the rule constants are unbound and resolved per decompiler by a
+ * {@link FieldBinding}. The last loaded core is kept by a soft reference together with its key, the
+ * rule index hash and plugin version, so it is reused while the rules are unchanged and can be
+ * reclaimed if the heap runs low.
+ */
+final class RuleCore {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RuleCore.class);
+
+	private static final Object LOCK = new Object();
+
+	private static SoftReference<RuleCore> shared = new SoftReference<>(null);
+
+	private final String key;
+	private final HeapRuleStore store;
+
+	private RuleCore(final String key, final HeapRuleStore store) {
+		this.key = key;
+		this.store = store;
+	}
+
+	/**
+	 * Get the shared core for the rules of the loader, load it if missing, outdated or reclaimed.
+	 * Concurrent callers wait for a single load.
+	 */
+	static RuleCore getShared(final LinterRuleLoader ruleLoader, final LinterStats stats) {
+		final long start = System.nanoTime();
+		final String indexHash = ruleLoader.loadIndexHash();
+		final String key = RuleSnapshot.buildKey(indexHash);
+		synchronized (LOCK) {
+			final RuleCore core = shared.get();
+			if (core != null && core.key.equals(key)) {
+				stats.recordLoad("shared", System.nanoTime() - start);
+				LOG.debug("Reusing shared linter rules");
+				return core;
+			}
+			final RuleCore loaded = load(ruleLoader);
+			shared = new SoftReference<>(loaded);
+			return loaded;
+		}
+	}
+
+	/**
+	 * Load a core for the rules of the loader without sharing it.
+	 */
+	static RuleCore load(final LinterRuleLoader ruleLoader) {
+		ruleLoader.loadRulesAndConstants();
+		ruleLoader.mapConstantsUnbound();
+		return new RuleCore(RuleSnapshot.buildKey(ruleLoader.getIndexHash()), new HeapRuleStore(ruleLoader.getLinterRules()));
+	}
+
+	/**
+	 * Drop the shared core, the next decompiler loads the rules again.
+	 */
+	static void clearShared() {
+		synchronized (LOCK) {
+			shared = new SoftReference<>(null);
+		}
+	}
+
+	/**
+	 * @return rules with unbound field references, see {@link FieldBinding}
+	 */
+	HeapRuleStore getStore() {
+		return store;
+	}
+}
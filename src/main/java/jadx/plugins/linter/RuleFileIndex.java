@@ -0,0 +1,185 @@
+package jadx.plugins.linter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Classes of each rule and constant file, stored in the jadx cache directory so a selective load can
+ * skip files without rules for the input before parsing them.
+ * <p>
+ * A rule file is indexed with the classes of its rule signatures and the classes of the constants its
+ * rules refer to, a constant file with the classes of its constants. Like the {@link RuleSnapshot},
+ * the index is keyed by the rule index hash and the plugin version.
+ */
+final class RuleFileIndex {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RuleFileIndex.class);
+
+	static final String INDEX_FILE = "rule-files.idx";
+
+	private static final int MAGIC = 0x4A4C4649; // JLFI
+	private static final int VERSION = 1;
+
+	// filled by parallel load tasks
+	private final Map<String, Set<String>> ruleClasses = new ConcurrentHashMap<>();
+	private final Map<String, Set<String>> ruleConstantClasses = new ConcurrentHashMap<>();
+	private final Map<String, Set<String>> constantClasses = new ConcurrentHashMap<>();
+
+	static Path getIndexFile() {
+		return LinterCacheDir.get().resolve(INDEX_FILE);
+	}
+
+	/**
+	 * Add a parsed rule file with all its rules, before any filtering.
+	 */
+	void addRuleFile(final String ruleFile, final Map<String, List<LinterRule<?>>> linterRules) {
+		final Set<String> classes = new HashSet<>();
+		final Set<String> referencedClasses = new HashSet<>();
+		for (final Map.Entry<String, List<LinterRule<?>>> entry : linterRules.entrySet()) {
+			final String signature = entry.getKey();
+			final int idx = signature == null ? -1 : signature.indexOf(' ');
+			if (idx != -1) {
+				classes.add(signature.substring(0, idx));
+			}
+			for (final LinterRule<?> rule : entry.getValue()) {
+				if (rule != null && rule.getConstantListString() != null) {
+					for (final String constantName : rule.getConstantListString().split(", ")) {
+						addClass(referencedClasses, constantName);
+					}
+				}
+			}
+		}
+		ruleClasses.put(ruleFile, classes);
+		ruleConstantClasses.put(ruleFile, referencedClasses);
+	}
+
+	void addConstantFile(final String constantFile, final Set<String> constantNames) {
+		final Set<String> classes = new HashSet<>();
+		for (final String constantName : constantNames) {
+			addClass(classes, constantName);
+		}
+		constantClasses.put(constantFile, classes);
+	}
+
+	private static void addClass(final Set<String> classes, final String constantName) {
+		final int idx = constantName.lastIndexOf('.');
+		if (idx != -1) {
+			classes.add(constantName.substring(0, idx));
+		}
+	}
+
+	/**
+	 * Rule files without a class accepted by the filter and constant files without a class referenced
+	 * by the remaining rule files. Files missing in the index are never skipped.
+	 */
+	Set<String> getSkippedFiles(final RuleFilter ruleFilter) {
+		final Set<String> skipped = new HashSet<>();
+		final Set<String> referencedClasses = new HashSet<>();
+		for (final Map.Entry<String, Set<String>> entry : ruleClasses.entrySet()) {
+			if (entry.getValue().stream().anyMatch(ruleFilter::hasClass)) {
+				referencedClasses.addAll(ruleConstantClasses.get(entry.getKey()));
+			} else {
+				skipped.add(entry.getKey());
+			}
+		}
+		for (final Map.Entry<String, Set<String>> entry : constantClasses.entrySet()) {
+			if (entry.getValue().stream().noneMatch(referencedClasses::contains)) {
+				skipped.add(entry.getKey());
+			}
+		}
+		return skipped;
+	}
+
+	/**
+	 * @return null if there is no valid index for the key
+	 */
+	static RuleFileIndex read(final String key) {
+		final Path indexFile = getIndexFile();
+		if (!Files.isRegularFile(indexFile)) {
+			return null;
+		}
+		try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION || !key.equals(in.readUTF())) {
+				LOG.debug("Outdated linter rule file index {}", indexFile);
+				return null;
+			}
+			final RuleFileIndex index = new RuleFileIndex();
+			final int ruleFiles = in.readInt();
+			for (int i = 0; i < ruleFiles; i++) {
+				final String ruleFile = in.readUTF();
+				index.ruleClasses.put(ruleFile, readClasses(in));
+				index.ruleConstantClasses.put(ruleFile, readClasses(in));
+			}
+			final int constantFiles = in.readInt();
+			for (int i = 0; i < constantFiles; i++) {
+				index.constantClasses.put(in.readUTF(), readClasses(in));
+			}
+			return index;
+		} catch (final IOException e) {
+			LOG.debug("Invalid linter rule file index {}", indexFile, e);
+			return null;
+		}
+	}
+
+	private static Set<String> readClasses(final DataInputStream in) throws IOException {
+		final int count = in.readInt();
+		final Set<String> classes = new HashSet<>(count * 2);
+		for (int i = 0; i < count; i++) {
+			classes.add(in.readUTF());
+		}
+		return classes;
+	}
+
+	/**
+	 * Write through a temporary file like the rule snapshot.
+	 */
+	void write(final String key) throws IOException {
+		final Path indexFile = getIndexFile();
+		final Path dir = indexFile.getParent();
+		Files.createDirectories(dir);
+		final Path tmpFile = Files.createTempFile(dir, INDEX_FILE, ".tmp");
+		try {
+			try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeUTF(key);
+				out.writeInt(ruleClasses.size());
+				for (final Map.Entry<String, Set<String>> entry : ruleClasses.entrySet()) {
+					out.writeUTF(entry.getKey());
+					writeClasses(out, entry.getValue());
+					writeClasses(out, ruleConstantClasses.get(entry.getKey()));
+				}
+				out.writeInt(constantClasses.size());
+				for (final Map.Entry<String, Set<String>> entry : constantClasses.entrySet()) {
+					out.writeUTF(entry.getKey());
+					writeClasses(out, entry.getValue());
+				}
+			}
+			Files.move(tmpFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			LOG.debug("Linter rule file index written to {}", indexFile);
+		} finally {
+			Files.deleteIfExists(tmpFile);
+		}
+	}
+
+	private static void writeClasses(final DataOutputStream out, final Set<String> classes) throws IOException {
+		out.writeInt(classes.size());
+		for (final String cls : classes) {
+			out.writeUTF(cls);
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package jadx.plugins.linter;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.api.plugins.input.data.ICodeReader;
+import jadx.api.plugins.input.insns.InsnIndexType;
+import jadx.core.dex.info.MethodInfo;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+
+/**
+ * Rule signatures which can match a method called by the input.
+ * <p>
+ * Collects the declaring classes with all their super types and the names of all methods referenced
+ * by the raw instructions of the input. Rules of other signatures can never be applied by the pass,
+ * so they don't need to be loaded.
+ */
+final class RuleFilter {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RuleFilter.class);
+
+	private final Set<String> classes;
+	private final Set<String> methodNames;
+
+	// signatures are counted once, rule files have one item per rule and may repeat signatures of other files
+	private final Set<String> checkedSignatures = ConcurrentHashMap.newKeySet();
+	private final LongAdder kept = new LongAdder();
+	private final LongAdder skipped = new LongAdder();
+
+	RuleFilter(final Set<String> classes, final Set<String> methodNames) {
+		this.classes = classes;
+		this.methodNames = methodNames;
+	}
+
+	static RuleFilter scan(final RootNode root) {
+		final long start = System.currentTimeMillis();
+		final Set<String> declClasses = ConcurrentHashMap.newKeySet();
+		final Set<String> methodNames = ConcurrentHashMap.newKeySet();
+		root.getClasses().parallelStream().forEach(cls -> scanClass(root, cls, declClasses, methodNames));
+		final Set<String> classes = ConcurrentHashMap.newKeySet();
+		for (final String className : declClasses) {
+			classes.add(className);
+			for (final String superType : root.getClsp().getSuperTypes(className)) {
+				classes.add(superType.replace('$', '.'));
+			}
+		}
+		LOG.debug("Linter rule filter: {} referenced classes with super types, {} method names, took {} ms", classes.size(),
+				methodNames.size(), System.currentTimeMillis() - start);
+		return new RuleFilter(classes, methodNames);
+	}
+
+	private static void scanClass(final RootNode root, final ClassNode cls, final Set<String> declClasses,
+			final Set<String> methodNames) {
+		for (final MethodNode mth : cls.getMethods()) {
+			final ICodeReader codeReader = mth.getCodeReader();
+			if (codeReader == null) {
+				continue;
+			}
+			codeReader.visitInstructions(insn -> {
+				if (insn.getIndexType() == InsnIndexType.METHOD_REF) {
+					insn.decode();
+					final MethodInfo methodInfo = MethodInfo.fromRef(root, insn.getIndexAsMethod());
+					declClasses.add(methodInfo.getDeclClass().getFullName());
+					methodNames.add(methodInfo.getName());
+				}
+			});
+		}
+	}
+
+	/**
+	 * Check a rule signature and count the result once per distinct signature.
+	 *
+	 * @return false if no referenced method can match the signature
+	 */
+	boolean matches(final String methodSignature) {
+		final boolean match = canMatch(methodSignature);
+		if (methodSignature != null && checkedSignatures.add(methodSignature)) {
+			if (match) {
+				kept.increment();
+			} else {
+				skipped.increment();
+			}
+		}
+		return match;
+	}
+
+	/**
+	 * @return true if rules of the class can match a referenced method, without counting
+	 */
+	boolean hasClass(final String className) {
+		return classes.contains(className);
+	}
+
+	private boolean canMatch(final String methodSignature) {
+		if (methodSignature == null) {
+			return true;
+		}
+		final int clsEnd = methodSignature.indexOf(' ');
+		final int nameEnd = methodSignature.indexOf('(');
+		if (clsEnd == -1 || nameEnd == -1) {
+			return true;
+		}
+		final int nameStart = methodSignature.lastIndexOf(' ', nameEnd) + 1;
+		return methodNames.contains(methodSignature.substring(nameStart, nameEnd))
+				&& classes.contains(methodSignature.substring(0, clsEnd));
+	}
+
+	/**
+	 * @return number of distinct signatures kept
+	 */
+	long getKept() {
+		return kept.sum();
+	}
+
+	/**
+	 * @return number of distinct signatures skipped
+	 */
+	long getSkipped() {
+		return skipped.sum();
+	}
+}
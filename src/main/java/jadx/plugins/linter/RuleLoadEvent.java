@@ -0,0 +1,58 @@
+package jadx.plugins.linter;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for one phase of rule loading, disabled unless enabled in the recording
+ * settings.
+ */
+@Name("jadx.plugins.linter.RuleLoad")
+@Label("Linter Rule Load")
+@Description("Phase of loading Android linter rules and constants")
+@Category({ "jadx", "Android Linter" })
+@Enabled(false)
+@StackTrace(false)
+final class RuleLoadEvent extends Event {
+
+	static final String INDEX = "index";
+	static final String REPOSITORY = "repository";
+	static final String CONSTANTS = "constants";
+	static final String RULES = "rules";
+	static final String BUNDLE = "bundle";
+	static final String SNAPSHOT = "snapshot";
+	static final String MAP_CONSTANTS = "mapConstants";
+
+	@Label("Phase")
+	String phase;
+
+	@Label("File")
+	@Description("Rule or constant file, repository name for repository phases")
+	String file;
+
+	@Label("Count")
+	@Description("Number of rule signatures, constants, artifacts or constant maps loaded in this phase")
+	int count;
+
+	RuleLoadEvent(final String phase, final String file) {
+		this.phase = phase;
+		this.file = file;
+		begin();
+	}
+
+	/**
+	 * End the phase and commit the event if enabled.
+	 */
+	void commit(final int count) {
+		end();
+		if (shouldCommit()) {
+			this.count = count;
+			commit();
+		}
+	}
+}
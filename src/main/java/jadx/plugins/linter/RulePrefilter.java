@@ -0,0 +1,158 @@
+package jadx.plugins.linter;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filter over the declaring classes and method names of all rule signatures.
+ * <p>
+ * Invokes of methods with a name no rule uses are rejected before any hierarchy walk or signature
+ * lookup. The filter has no false negatives, names passing it may still have no rules.
+ */
+final class RulePrefilter {
+
+	private static final int BITS_PER_ENTRY = 10;
+	private static final int HASH_COUNT = 4;
+
+	// hash seeds to keep class and method name entries apart
+	private static final int CLASS_SEED = 0x2F0B_3C1D;
+	private static final int METHOD_SEED = 0x6A09_E667;
+
+	private final long[] bits;
+	private final int bitCount;
+
+	private final LongAdder checked;
+	private final LongAdder rejected;
+	private final LongAdder falsePositives;
+
+	private RulePrefilter(final int expectedEntries, final RulePrefilter previous) {
+		final long size = Math.max(64L, (long) expectedEntries * BITS_PER_ENTRY);
+		this.bits = new long[(int) ((size + 63) / 64)];
+		this.bitCount = bits.length * 64;
+		this.checked = previous == null ? new LongAdder() : previous.checked;
+		this.rejected = previous == null ? new LongAdder() : previous.rejected;
+		this.falsePositives = previous == null ? new LongAdder() : previous.falsePositives;
+	}
+
+	private RulePrefilter(final RulePrefilter previous) {
+		this.bits = previous.bits.clone();
+		this.bitCount = previous.bitCount;
+		this.checked = previous.checked;
+		this.rejected = previous.rejected;
+		this.falsePositives = previous.falsePositives;
+	}
+
+	static RulePrefilter build(final LinterRuleStore ruleStore) {
+		// every signature adds a class and a method name
+		final RulePrefilter filter = new RulePrefilter(ruleStore.size() * 2, null);
+		ruleStore.forEachSignature(filter::addSignature);
+		return filter;
+	}
+
+	/**
+	 * Filter for a store with the signatures of another rule tier, continuing the counts of this one.
+	 * The added signatures are set in a copy of this filter while it has room for all signatures of
+	 * the store, otherwise a filter with room for later tiers is built from the store.
+	 *
+	 * @param signatures signatures of the tier
+	 */
+	RulePrefilter withSignatures(final LinterRuleStore ruleStore, final Collection<String> signatures) {
+		final int entries = ruleStore.size() * 2;
+		if (entries > bitCount / BITS_PER_ENTRY) {
+			final RulePrefilter filter = new RulePrefilter(entries * 2, this);
+			ruleStore.forEachSignature(filter::addSignature);
+			return filter;
+		}
+		final RulePrefilter filter = new RulePrefilter(this);
+		for (final String signature : signatures) {
+			if (signature != null) {
+				filter.addSignature(signature);
+			}
+		}
+		return filter;
+	}
+
+	/**
+	 * Check a called method name and count the result.
+	 *
+	 * @return false if no rule has a method with this name
+	 */
+	boolean checkMethod(final String methodName) {
+		checked.increment();
+		if (contains(methodName, METHOD_SEED)) {
+			return true;
+		}
+		rejected.increment();
+		return false;
+	}
+
+	/**
+	 * Same as {@link #checkMethod(String)} without counting.
+	 */
+	boolean mightHaveMethod(final String methodName) {
+		return contains(methodName, METHOD_SEED);
+	}
+
+	/**
+	 * @return false if no rule is declared in this class
+	 */
+	boolean mightHaveClass(final String className) {
+		return contains(className, CLASS_SEED);
+	}
+
+	/**
+	 * Count a method which passed the filter but has no rules for the called class hierarchy.
+	 */
+	void recordFalsePositive() {
+		falsePositives.increment();
+	}
+
+	long getChecked() {
+		return checked.sum();
+	}
+
+	long getRejected() {
+		return rejected.sum();
+	}
+
+	long getFalsePositives() {
+		return falsePositives.sum();
+	}
+
+	private void addSignature(final String signature) {
+		final int clsEnd = signature.indexOf(' ');
+		final int nameEnd = signature.indexOf('(');
+		if (clsEnd == -1 || nameEnd == -1) {
+			return;
+		}
+		final int nameStart = signature.lastIndexOf(' ', nameEnd) + 1;
+		add(signature.substring(0, clsEnd), CLASS_SEED);
+		add(signature.substring(nameStart, nameEnd), METHOD_SEED);
+	}
+
+	private void add(final String str, final int seed) {
+		final int h1 = hash(str, seed);
+		final int h2 = Integer.rotateLeft(h1, 16) * 0x85EB_CA6B | 1;
+		for (int i = 0; i < HASH_COUNT; i++) {
+			final int bit = Math.floorMod(h1 + i * h2, bitCount);
+			bits[bit >>> 6] |= 1L << bit;
+		}
+	}
+
+	private boolean contains(final String str, final int seed) {
+		final int h1 = hash(str, seed);
+		final int h2 = Integer.rotateLeft(h1, 16) * 0x85EB_CA6B | 1;
+		for (int i = 0; i < HASH_COUNT; i++) {
+			final int bit = Math.floorMod(h1 + i * h2, bitCount);
+			if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int hash(final String str, final int seed) {
+		final int h = (str.hashCode() ^ seed) * 0x9E37_79B9;
+		return h ^ (h >>> 15);
+	}
+}
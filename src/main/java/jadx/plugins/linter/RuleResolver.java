@@ -0,0 +1,109 @@
+package jadx.plugins.linter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jadx.core.dex.info.ClassInfo;
+import jadx.core.dex.nodes.RootNode;
+
+/**
+ * Classes in the hierarchy of a called class which have rules, cached per class. Classes without
+ * any rules in their hierarchy map to an empty list.
+ */
+class RuleResolver {
+
+	private final RootNode root;
+	private final LinterRuleStore ruleStore;
+	private final RulePrefilter prefilter;
+	private final Map<ClassInfo, List<String>> ruleClasses = new ConcurrentHashMap<>();
+
+	// resolved by the resolver replaced with this one, only the added classes are checked for these
+	private final Map<ClassInfo, List<String>> previousClasses;
+	private final Set<String> addedClasses;
+
+	RuleResolver(final RootNode root, final LinterRuleStore ruleStore, final RulePrefilter prefilter) {
+		this(root, ruleStore, prefilter, Collections.emptyMap(), Collections.emptySet());
+	}
+
+	private RuleResolver(final RootNode root, final LinterRuleStore ruleStore, final RulePrefilter prefilter,
+			final Map<ClassInfo, List<String>> previousClasses, final Set<String> addedClasses) {
+		this.root = root;
+		this.ruleStore = ruleStore;
+		this.prefilter = prefilter;
+		this.previousClasses = previousClasses;
+		this.addedClasses = addedClasses;
+	}
+
+	/**
+	 * Resolver for a store with the rules of another tier. Classes resolved by this resolver are
+	 * extended with the added classes in their hierarchy on first use instead of resolved again.
+	 *
+	 * @param addedClasses classes with rules in the new store but not in the store of this resolver
+	 */
+	RuleResolver withStore(final LinterRuleStore tierStore, final RulePrefilter tierPrefilter, final Set<String> addedClasses) {
+		return new RuleResolver(root, tierStore, tierPrefilter, ruleClasses, addedClasses);
+	}
+
+	/**
+	 * @return names of the class and its super types having rules, in lookup order
+	 */
+	List<String> getRuleClasses(final ClassInfo cls) {
+		final List<String> classes = ruleClasses.get(cls);
+		if (classes != null) {
+			return classes;
+		}
+		return ruleClasses.computeIfAbsent(cls, this::resolveRuleClasses);
+	}
+
+	private List<String> resolveRuleClasses(final ClassInfo cls) {
+		final List<String> previous = previousClasses.get(cls);
+		if (previous != null) {
+			return addRuleClasses(cls, previous);
+		}
+		List<String> result = null;
+		for (final String className : getHierarchy(cls)) {
+			if (prefilter.mightHaveClass(className) && ruleStore.hasClassRules(className)) {
+				if (result == null) {
+					result = new ArrayList<>(2);
+				}
+				result.add(className);
+			}
+		}
+		return result == null ? Collections.emptyList() : result;
+	}
+
+	private List<String> addRuleClasses(final ClassInfo cls, final List<String> previous) {
+		if (addedClasses.isEmpty()) {
+			return previous;
+		}
+		List<String> result = null;
+		for (final String className : getHierarchy(cls)) {
+			if (addedClasses.contains(className)) {
+				if (result == null) {
+					result = new ArrayList<>(previous.size() + 1);
+					result.addAll(previous);
+				}
+				result.add(className);
+			}
+		}
+		return result == null ? previous : result;
+	}
+
+	private Set<String> getHierarchy(final ClassInfo cls) {
+		final Set<String> classList = new HashSet<>();
+		classList.add(cls.getFullName());
+		for (final String superType : root.getClsp().getSuperTypes(cls.getFullName())) {
+			classList.add(superType.replace('$', '.'));
+		}
+		return classList;
+	}
+
+	int size() {
+		return ruleClasses.size();
+	}
+}
@@ -0,0 +1,62 @@
+package jadx.plugins.linter;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import jadx.core.dex.nodes.RootNode;
+
+/**
+ * Rule store with the prefilter and class hierarchy resolver built for it.
+ * <p>
+ * Immutable, the pass reads the current rule set once per method. Loading another rule tier
+ * publishes a new rule set instead of changing the one in use, so a method is always processed
+ * against consistent rules without locking.
+ */
+final class RuleSet {
+
+	private final LinterRuleStore store;
+	private final RulePrefilter prefilter;
+	private final RuleResolver resolver;
+
+	RuleSet(final RootNode root, final LinterRuleStore store) {
+		this.store = store;
+		this.prefilter = RulePrefilter.build(store);
+		this.resolver = new RuleResolver(root, store, prefilter);
+	}
+
+	private RuleSet(final LinterRuleStore store, final RulePrefilter prefilter, final RuleResolver resolver) {
+		this.store = store;
+		this.prefilter = prefilter;
+		this.resolver = resolver;
+	}
+
+	/**
+	 * Rule set replacing this one for a store with the rules of another tier. The prefilter and the
+	 * resolver are extended with the tier signatures instead of built again over all signatures.
+	 *
+	 * @param signatures signatures which got rules in the tier
+	 */
+	RuleSet withTier(final LinterRuleStore tierStore, final Set<String> signatures) {
+		final Set<String> addedClasses = new HashSet<>();
+		for (final String signature : signatures) {
+			final int idx = signature == null ? -1 : signature.indexOf(' ');
+			if (idx != -1 && !store.hasClassRules(signature.substring(0, idx))) {
+				addedClasses.add(signature.substring(0, idx));
+			}
+		}
+		final RulePrefilter tierPrefilter = prefilter.withSignatures(tierStore, signatures);
+		return new RuleSet(tierStore, tierPrefilter, resolver.withStore(tierStore, tierPrefilter, addedClasses));
+	}
+
+	LinterRuleStore getStore() {
+		return store;
+	}
+
+	RulePrefilter getPrefilter() {
+		return prefilter;
+	}
+
+	RuleResolver getResolver() {
+		return resolver;
+	}
+}
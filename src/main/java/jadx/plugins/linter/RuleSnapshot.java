@@ -0,0 +1,110 @@
+package jadx.plugins.linter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parsed rules and constants stored as {@link RuleBundle} in the jadx cache directory.
+ * <p>
+ * The snapshot is keyed by the rule index hash and the plugin version, any change of those
+ * invalidates it.
+ */
+final class RuleSnapshot {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RuleSnapshot.class);
+
+	static final String SNAPSHOT_FILE = "rules-snapshot.bundle";
+
+	private RuleSnapshot() {
+	}
+
+	static Path getSnapshotFile() {
+		return LinterCacheDir.get().resolve(SNAPSHOT_FILE);
+	}
+
+	static String buildKey(final String indexHash) {
+		return indexHash + ' ' + getPluginVersion();
+	}
+
+	private static String getPluginVersion() {
+		final String version = RuleSnapshot.class.getPackage().getImplementationVersion();
+		return version != null ? version : "dev";
+	}
+
+	/**
+	 * Load the snapshot into memory with a single bulk read.
+	 *
+	 * @return null if there is no valid snapshot for the key
+	 */
+	static RuleBundle read(final String key) {
+		final Path snapshotFile = getSnapshotFile();
+		if (!Files.isRegularFile(snapshotFile)) {
+			return null;
+		}
+		try {
+			return checkKey(RuleBundle.wrap(ByteBuffer.wrap(Files.readAllBytes(snapshotFile))), key);
+		} catch (final IOException e) {
+			LOG.debug("Invalid linter rule snapshot {}", snapshotFile, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Map the snapshot into memory without reading it.
+	 *
+	 * @return null if there is no valid snapshot for the key
+	 */
+	static RuleBundle map(final String key) {
+		final Path snapshotFile = getSnapshotFile();
+		if (!Files.isRegularFile(snapshotFile)) {
+			return null;
+		}
+		try (final FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+			return checkKey(RuleBundle.wrap(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())), key);
+		} catch (final IOException e) {
+			LOG.debug("Invalid linter rule snapshot {}", snapshotFile, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Write to a temporary file first and move it into place, so concurrent processes never read or
+	 * map a partially written snapshot.
+	 */
+	static void write(final String key, final Map<String, List<LinterRule<?>>> linterRules, final Map<String, String> constantMap)
+			throws IOException {
+		final Path snapshotFile = getSnapshotFile();
+		final Path dir = snapshotFile.getParent();
+		Files.createDirectories(dir);
+		final Path tmpFile = Files.createTempFile(dir, SNAPSHOT_FILE, ".tmp");
+		try {
+			try (final OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmpFile))) {
+				RuleBundle.write(out, key, linterRules, constantMap);
+			}
+			Files.move(tmpFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			LOG.debug("Linter rule snapshot written to {}", snapshotFile);
+		} finally {
+			Files.deleteIfExists(tmpFile);
+		}
+	}
+
+	private static RuleBundle checkKey(final RuleBundle bundle, final String key) {
+		if (key.equals(bundle.getKey())) {
+			return bundle;
+		}
+		LOG.debug("Outdated linter rule snapshot: {}", bundle.getKey());
+		return null;
+	}
+}
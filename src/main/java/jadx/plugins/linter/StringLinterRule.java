@@ -1,6 +1,9 @@
 package jadx.plugins.linter;
 
+import java.util.Map;
+
 import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.IFieldInfoRef;
 
 class StringLinterRule extends LinterRule<String> {
 	public StringLinterRule(final String methodSignature, final int argumentOffset, final boolean flag, final String source,
@@ -13,6 +16,11 @@ class StringLinterRule extends LinterRule<String> {
 		return value;
 	}
 
+	@Override
+	protected RuleConstants compileConstants(final Map<String, IFieldInfoRef> constantMap) {
+		return new StringRuleConstants(constantMap);
+	}
+
 	@Override
 	DefTypes getType() {
 		return DefTypes.STRING_DEF;
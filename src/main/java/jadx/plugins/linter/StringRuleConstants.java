@@ -0,0 +1,31 @@
+package jadx.plugins.linter;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import jadx.core.dex.nodes.IFieldInfoRef;
+
+final class StringRuleConstants implements RuleConstants {
+
+	private final Map<String, IFieldInfoRef> constantMap;
+
+	StringRuleConstants(final Map<String, IFieldInfoRef> constantMap) {
+		this.constantMap = Collections.unmodifiableMap(constantMap);
+	}
+
+	@Override
+	public IFieldInfoRef get(final String value) {
+		return constantMap.get(value);
+	}
+
+	@Override
+	public int size() {
+		return constantMap.size();
+	}
+
+	@Override
+	public void forEachField(final Consumer<IFieldInfoRef> consumer) {
+		constantMap.values().forEach(consumer);
+	}
+}
@@ -45,7 +45,8 @@ public class RuleIndexUtils {
 		}
 
 		boolean copy = false;
-		if (linterCacheFolder.list().length == 0) {
+		// other cached files (e.g. the rule store) may exist without rules, so check for the index
+		if (!new File(linterCacheFolder, "rules-integrity.json").exists()) {
 			copyInternalLinterFile("rules-integrity.json", linterCacheFolder);
 			copyInternalRules(linterCacheFolder);
 		}
@@ -210,6 +211,10 @@ public class RuleIndexUtils {
 		return "sha512-" + Base64.getEncoder().encodeToString(generateSha512(filename));
 	}
 
+	public static String generateHash(final byte[] data) {
+		return "sha512-" + Base64.getEncoder().encodeToString(generateSha512(data));
+	}
+
 	private static byte[] generateSha512(final String filename) {
 		try {
 			final File file = new File(filename);
@@ -217,11 +222,19 @@ public class RuleIndexUtils {
 			final FileInputStream fis = new FileInputStream(file);
 			fis.read(bufferByte);
 			fis.close();
+			return generateSha512(bufferByte);
+		} catch (final IOException e) {
+			throw new JadxRuntimeException("Could not hash file " + filename, e);
+		}
+	}
+
+	private static byte[] generateSha512(final byte[] data) {
+		try {
 			final MessageDigest md = MessageDigest.getInstance("SHA-512");
-			md.update(bufferByte);
+			md.update(data);
 			return md.digest();
-		} catch (final IOException | NoSuchAlgorithmException e) {
-			throw new JadxRuntimeException("Could not hash file " + filename, e);
+		} catch (final NoSuchAlgorithmException e) {
+			throw new JadxRuntimeException("SHA-512 not supported", e);
 		}
 	}
 
@@ -3,6 +3,7 @@ package jadx.plugins.linter;
 import java.io.File;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Files;
 
 import org.junit.jupiter.api.Test;
 
@@ -15,7 +16,85 @@ import static org.assertj.core.api.Assertions.assertThat;
 public class AndroidLinterPassTest {
 	@Test
 	public void integrationTest() throws Exception {
+		checkSample(new JadxArgs());
+	}
+
+	@Test
+	public void integrationTestSyncLoad() throws Exception {
+		final JadxArgs args = new JadxArgs();
+		args.getPluginOptions().put(LinterPlugin.PLUGIN_ID + ".async-load", "no");
+		checkSample(args);
+	}
+
+	@Test
+	public void integrationTestUnsharedRules() throws Exception {
+		final JadxArgs args = new JadxArgs();
+		args.getPluginOptions().put(LinterPlugin.PLUGIN_ID + ".shared-rules", "no");
+		args.getPluginOptions().put(LinterPlugin.PLUGIN_ID + ".async-load", "no");
+		checkSample(args);
+	}
+
+	@Test
+	public void integrationTestTieredStore() throws Exception {
+		final JadxArgs args = new JadxArgs();
+		args.getPluginOptions().put(LinterPlugin.PLUGIN_ID + ".rule-store", "TIERED");
+		checkSample(args);
+	}
+
+	@Test
+	public void integrationTestMappedStore() throws Exception {
+		LinterTestRules.withTempCacheDir(cacheDir -> {
+			for (int i = 0; i < 2; i++) {
+				// first run writes the rule snapshot, second run maps the existing one
+				final JadxArgs args = new JadxArgs();
+				args.getPluginOptions().put(LinterPlugin.PLUGIN_ID + ".rule-store", "MAPPED");
+				checkSample(args);
+				assertThat(RuleSnapshot.getSnapshotFile()).exists();
+			}
+		});
+	}
+
+	@Test
+	public void integrationTestScanCallers() throws Exception {
 		final JadxArgs args = new JadxArgs();
+		args.getPluginOptions().put(LinterPlugin.PLUGIN_ID + ".scan-callers", "yes");
+		checkSample(args);
+	}
+
+	@Test
+	public void integrationTestSelectiveLoad() throws Exception {
+		final JadxArgs args = new JadxArgs();
+		args.getPluginOptions().put(LinterPlugin.PLUGIN_ID + ".selective-load", "yes");
+		checkSample(args);
+	}
+
+	@Test
+	public void integrationTestInsnBudget() throws Exception {
+		final JadxArgs args = new JadxArgs();
+		args.getPluginOptions().put(LinterPlugin.PLUGIN_ID + ".method-insn-budget", "1");
+		args.getInputFiles().add(getSampleFile("lintertest.smali"));
+		try (final JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			final String clsCode = jadx.getClasses().get(0).getCode();
+			assertThat(clsCode).contains("Android linter skipped this method")
+					.doesNotContain("View.VISIBLE");
+		}
+	}
+
+	@Test
+	public void integrationTestReport() throws Exception {
+		final JadxArgs args = new JadxArgs();
+		final File outDir = Files.createTempDirectory("linter-report").toFile();
+		args.setOutDir(outDir);
+		args.getPluginOptions().put(LinterPlugin.PLUGIN_ID + ".report", "yes");
+		checkSample(args);
+		final String report = Files.readString(new File(outDir, LinterStats.REPORT_FILE).toPath());
+		assertThat(report).contains("\"replacements\"")
+				.contains("android.view.View void setVisibility(int)")
+				.contains("\"unusedRules\"");
+	}
+
+	private void checkSample(final JadxArgs args) throws Exception {
 		args.getInputFiles().add(getSampleFile("lintertest.smali"));
 		try (final JadxDecompiler jadx = new JadxDecompiler(args)) {
 			jadx.load();
@@ -24,7 +103,7 @@ public class AndroidLinterPassTest {
 			assertThat(clsCode).contains("view.setVisibility(View.VISIBLE);")
 					.contains("view.setVisibility(42);")
 					.contains(
-							"// 1208483840 = (FLAG_RECEIVER_NO_ABORT | FLAG_RECEIVER_REGISTERED_ONLY | FLAG_ACTIVITY_CLEAR_WHEN_TASK_RESET)");
+							"// 1208483840 = (FLAG_ACTIVITY_CLEAR_WHEN_TASK_RESET | FLAG_RECEIVER_NO_ABORT | FLAG_RECEIVER_REGISTERED_ONLY)");
 		}
 	}
 
@@ -0,0 +1,43 @@
+package jadx.plugins.linter;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ArgumentRulesTest {
+
+	private static final String SIGNATURE = "a.B void setFlags(int, int)";
+
+	@Test
+	void testIndexByArgument() {
+		final LinterRule<?> second = new IntLinterRule(SIGNATURE, 1, true, "test", "a.B.C");
+		final LinterRule<?> first = new IntLinterRule(SIGNATURE, 0, true, "test", "a.B.D");
+		final LinterRule<?> duplicate = new IntLinterRule(SIGNATURE, 0, false, "test", "a.B.E");
+		final ArgumentRules rules = ArgumentRules.of(Arrays.asList(second, null, first, duplicate));
+
+		assertEquals(2, rules.getArgCount());
+		assertEquals(1, rules.getArgIndex(0));
+		assertEquals(2, rules.getArgIndex(1));
+		assertSame(first, rules.get(1));
+		assertSame(second, rules.get(2));
+		assertNull(rules.get(0));
+		assertNull(rules.get(3));
+		assertEquals(4, rules.getRules().size());
+	}
+
+	@Test
+	void testStoreRules() {
+		final LinterRuleLoader ruleLoader = LinterTestRules.getLoadedRules();
+		final HeapRuleStore store = new HeapRuleStore(ruleLoader.getLinterRules());
+		final ArgumentRules rules = store.getArgumentRules("android.app.ActionBar", "void setDisplayOptions(int, int)");
+		assertNotNull(rules);
+		assertEquals(2, rules.getArgCount());
+		assertEquals(0, rules.get(1).getArgumentOffset());
+		assertEquals(1, rules.get(2).getArgumentOffset());
+	}
+}
@@ -0,0 +1,46 @@
+package jadx.plugins.linter;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConstantTableTest {
+
+	@Test
+	void testLookup() {
+		final ConstantTable table = new ConstantTable();
+		table.put("android.view.View.GONE", "8");
+		table.put("android.view.View.VISIBLE", "0");
+		table.put("android.content.Context.WINDOW_SERVICE", "window");
+		table.put("a.B.HEX", "0x10");
+		assertEquals("8", table.get("android.view.View.GONE"));
+		assertEquals("0", table.get("android.view.View", "VISIBLE"));
+
+		// later values replace earlier ones, also after compaction
+		table.put("android.view.View.GONE", "-8");
+		assertEquals("-8", table.get("android.view.View.GONE"));
+		assertEquals("window", table.get("android.content.Context.WINDOW_SERVICE"));
+		assertEquals("0x10", table.get("a.B.HEX"));
+		assertNull(table.get("android.view.View.INVISIBLE"));
+		assertNull(table.get("android.view.Unknown.GONE"));
+		assertEquals(4, table.size());
+	}
+
+	@Test
+	void testFootprint() {
+		final ConstantTable table = LinterTestRules.getLoadedRules().constantTable;
+		final Map<String, String> flatMap = table.toMap();
+		assertTrue(flatMap.size() > 1000);
+		flatMap.forEach((name, value) -> assertEquals(value, table.get(name), name));
+
+		final long tableSize = GraphLayout.parseInstance(table).totalSize();
+		final long flatMapSize = GraphLayout.parseInstance(flatMap).totalSize();
+		// the table takes about a third of the flat map, layouts differ between VMs so only check a generous margin
+		assertTrue(tableSize < flatMapSize * 3 / 4, "table: " + tableSize + " bytes, flat map: " + flatMapSize + " bytes");
+	}
+}
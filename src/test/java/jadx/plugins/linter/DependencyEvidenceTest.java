@@ -0,0 +1,55 @@
+package jadx.plugins.linter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DependencyEvidenceTest {
+
+	private static final int THREADS = 8;
+	private static final int HITS = 10_000;
+
+	@Test
+	void testConcurrentRecord() throws Exception {
+		final DependencyEvidence evidence = new DependencyEvidence();
+		final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		final List<Future<Integer>> results = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			final String callSite = "a.C" + t + ".m()V";
+			results.add(executor.submit(() -> {
+				int first = 0;
+				for (int i = 0; i < HITS; i++) {
+					if (evidence.record("androidx.core", callSite, "a.B void m" + i % 3 + "(int)")) {
+						first++;
+					}
+				}
+				return first;
+			}));
+		}
+		int firstCount = 0;
+		for (final Future<Integer> result : results) {
+			firstCount += result.get();
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+		assertEquals(1, firstCount);
+		final DependencyEvidence.Evidence androidx = evidence.get("androidx.core");
+		assertNotNull(androidx);
+		assertEquals((long) THREADS * HITS, androidx.getHitCount());
+		assertEquals(3, androidx.getSignatures().size());
+		assertTrue(androidx.getFirstCallSite().startsWith("a.C"));
+		assertEquals(1, evidence.getSources().size());
+		assertNull(evidence.get("unknown"));
+	}
+}
@@ -0,0 +1,31 @@
+package jadx.plugins.linter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.core.dex.nodes.IFieldInfoRef;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class FlagMasksTest {
+
+	@Test
+	void testUnfold() {
+		final Map<Integer, IFieldInfoRef> constantMap = new HashMap<>();
+		constantMap.put(0, new LazyFieldInfoRef(null, "a.B", "NONE", null));
+		constantMap.put(4, new LazyFieldInfoRef(null, "a.B", "FLAG_C", null));
+		constantMap.put(1, new LazyFieldInfoRef(null, "a.B", "FLAG_A", null));
+		constantMap.put(2, new LazyFieldInfoRef(null, "a.B", "FLAG_B", null));
+		constantMap.put(12, new LazyFieldInfoRef(null, "a.B", "FLAG_CD", null));
+		final FlagMasks flagMasks = NumericRuleConstants.of(constantMap).getFlagMasks();
+
+		assertEquals("FLAG_A | FLAG_B", flagMasks.unfold(3));
+		assertEquals("FLAG_C | FLAG_CD", flagMasks.unfold(12));
+		assertEquals("FLAG_A | 16", flagMasks.unfold(17));
+		assertEquals("16", flagMasks.unfold(16));
+		assertSame(flagMasks.unfold(3), flagMasks.unfold(3));
+	}
+}
@@ -0,0 +1,45 @@
+package jadx.plugins.linter;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeapRuleStoreTest {
+
+	@Test
+	void testClassAndProtoLookup() {
+		final LinterRuleLoader ruleLoader = LinterTestRules.getLoadedRules();
+		final HeapRuleStore store = new HeapRuleStore(ruleLoader.getLinterRules());
+		for (final Map.Entry<String, List<LinterRule<?>>> entry : ruleLoader.getLinterRules().entrySet()) {
+			final String signature = entry.getKey();
+			final int idx = signature.indexOf(' ');
+			assertSame(entry.getValue(), store.getRules(signature.substring(0, idx), signature.substring(idx + 1)), signature);
+		}
+		assertNull(store.getRules("android.view.View", "void unknownMethod(int)"));
+		assertNull(store.getRules("a.Unknown", "void setVisibility(int)"));
+		assertTrue(store.hasClassRules("android.view.View"));
+		assertFalse(store.hasClassRules("java.lang.Object"));
+	}
+
+	@Test
+	void testTierRules() {
+		final HeapRuleStore fullStore = new HeapRuleStore(LinterTestRules.getLoadedRules().getLinterRules());
+		final Map<String, List<LinterRule<?>>> firstTier = LinterTestRules.getTierRules(0);
+		final HeapRuleStore store = new HeapRuleStore(firstTier);
+		final HeapRuleStore tierStore = store.withRules(LinterTestRules.getTierRules(1));
+		assertEquals(firstTier.size(), store.size());
+		assertEquals(fullStore.size(), tierStore.size());
+		fullStore.forEachSignature(signature -> {
+			assertSame(fullStore.getRules(signature), tierStore.getRules(signature), signature);
+			// the store of the first tier is not changed
+			assertSame(firstTier.get(signature), store.getRules(signature), signature);
+		});
+	}
+}
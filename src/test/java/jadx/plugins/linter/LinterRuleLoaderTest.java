@@ -1,5 +1,6 @@
 package jadx.plugins.linter;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -20,4 +21,117 @@ class LinterRuleLoaderTest {
 		Assertions.assertTrue(linterRules.size() > 0);
 	}
 
+	@Test
+	void testConstantMapsShared() {
+		final LinterRuleLoader ruleLoader = new LinterRuleLoader(new RootNode(new JadxArgs()), RuleIndexUtils.usePackagedRules());
+		ruleLoader.loadRulesAndConstants();
+		ruleLoader.mapConstants();
+		final Map<String, RuleConstants> constantMaps = new HashMap<>();
+		int sharedCount = 0;
+		for (final List<LinterRule<?>> rules : ruleLoader.getLinterRules().values()) {
+			for (final LinterRule<?> rule : rules) {
+				if (rule.getConstantListString() == null) {
+					continue;
+				}
+				final RuleConstants constants = constantMaps.putIfAbsent(rule.getType() + rule.getConstantListString(), rule.getConstants());
+				if (constants != null) {
+					Assertions.assertSame(constants, rule.getConstants());
+					sharedCount++;
+				}
+			}
+		}
+		Assertions.assertTrue(sharedCount > 0);
+	}
+
+	@Test
+	void testLazyFields() {
+		final LinterRuleLoader ruleLoader = new LinterRuleLoader(new RootNode(new JadxArgs()), RuleIndexUtils.usePackagedRules());
+		ruleLoader.setLazyFields(true);
+		ruleLoader.loadRulesAndConstants();
+		ruleLoader.mapConstants();
+		final LinterRule<?> rule = ruleLoader.getLinterRules().get("android.view.View void setVisibility(int)").get(0);
+		final NumericRuleConstants constants = (NumericRuleConstants) rule.getConstants();
+		for (int i = 0; i < constants.size(); i++) {
+			Assertions.assertFalse(((LazyFieldInfoRef) constants.getField(i)).isResolved());
+		}
+		final LazyFieldInfoRef gone = (LazyFieldInfoRef) constants.get(8);
+		Assertions.assertEquals("GONE", gone.getFieldInfo().getName());
+		Assertions.assertTrue(gone.isResolved());
+		Assertions.assertSame(gone.getFieldInfo(), gone.getFieldInfo());
+	}
+
+	@Test
+	void testParallelLoadingMatchesSequential() {
+		final LinterRuleLoader sequentialLoader = LinterTestRules.newLoader();
+		sequentialLoader.setLoadThreads(1);
+		sequentialLoader.loadRulesAndConstants();
+		final LinterRuleLoader parallelLoader = LinterTestRules.newLoader();
+		parallelLoader.setLoadThreads(4);
+		parallelLoader.loadRulesAndConstants();
+
+		Assertions.assertEquals(sequentialLoader.constantTable.toMap(), parallelLoader.constantTable.toMap());
+		final Map<String, List<LinterRule<?>>> expected = sequentialLoader.getLinterRules();
+		final Map<String, List<LinterRule<?>>> actual = parallelLoader.getLinterRules();
+		Assertions.assertEquals(expected.keySet(), actual.keySet());
+		for (final Map.Entry<String, List<LinterRule<?>>> entry : expected.entrySet()) {
+			final List<LinterRule<?>> actualRules = actual.get(entry.getKey());
+			Assertions.assertEquals(entry.getValue().size(), actualRules.size());
+			for (int i = 0; i < actualRules.size(); i++) {
+				final LinterRule<?> expectedRule = entry.getValue().get(i);
+				final LinterRule<?> actualRule = actualRules.get(i);
+				Assertions.assertEquals(expectedRule.getSource(), actualRule.getSource());
+				Assertions.assertEquals(expectedRule.getArgumentOffset(), actualRule.getArgumentOffset());
+				Assertions.assertEquals(expectedRule.getConstantListString(), actualRule.getConstantListString());
+			}
+		}
+	}
+
+	@Test
+	void testTieredLoadingMatchesFullLoading() {
+		final LinterRuleLoader fullLoader = LinterTestRules.getLoadedRules();
+		final HeapRuleStore fullStore = RuleCore.load(LinterTestRules.newLoader()).getStore();
+		final LinterRuleLoader tieredLoader = LinterTestRules.newLoader();
+		tieredLoader.setLazyFields(true);
+		final List<String> repositories = tieredLoader.loadSdkTier();
+		Assertions.assertFalse(repositories.isEmpty());
+		// constants of all tiers are loaded with the first one
+		Assertions.assertEquals(fullLoader.constantTable.toMap(), tieredLoader.constantTable.toMap());
+		tieredLoader.mapTierConstants(null, tieredLoader.getLinterRules());
+		final Map<String, List<LinterRule<?>>> sdkRules = new HashMap<>(tieredLoader.getLinterRules());
+		final Map<String, Integer> sdkSizes = new HashMap<>();
+		sdkRules.forEach((signature, rules) -> sdkSizes.put(signature, rules.size()));
+		for (final String repo : repositories) {
+			final Map<String, List<LinterRule<?>>> tierRules = tieredLoader.loadRepositoryTier(repo);
+			Assertions.assertFalse(tierRules.isEmpty(), repo);
+			tieredLoader.mapTierConstants(null, tierRules);
+		}
+		// rule lists taken before are not changed by later tiers
+		sdkRules.forEach((signature, rules) -> Assertions.assertEquals(sdkSizes.get(signature), rules.size(), signature));
+
+		Assertions.assertEquals(fullLoader.constantTable.toMap(), tieredLoader.constantTable.toMap());
+		final Map<String, List<LinterRule<?>>> expected = fullLoader.getLinterRules();
+		final Map<String, List<LinterRule<?>>> actual = tieredLoader.getLinterRules();
+		Assertions.assertEquals(expected.keySet(), actual.keySet());
+		final Map<String, RuleConstants> constantMaps = new HashMap<>();
+		for (final Map.Entry<String, List<LinterRule<?>>> entry : expected.entrySet()) {
+			final List<LinterRule<?>> actualRules = actual.get(entry.getKey());
+			final List<LinterRule<?>> mappedRules = fullStore.getRules(entry.getKey());
+			Assertions.assertEquals(entry.getValue().size(), actualRules.size());
+			for (int i = 0; i < actualRules.size(); i++) {
+				final LinterRule<?> rule = actualRules.get(i);
+				Assertions.assertEquals(entry.getValue().get(i).getSource(), rule.getSource());
+				// mapped against all constants like a full load, constant sets are shared between tiers
+				Assertions.assertEquals(size(mappedRules.get(i).getConstants()), size(rule.getConstants()), entry.getKey());
+				if (rule.getConstantListString() != null) {
+					final RuleConstants constants = constantMaps.putIfAbsent(rule.getType() + rule.getConstantListString(),
+							rule.getConstants());
+					Assertions.assertSame(constants == null ? rule.getConstants() : constants, rule.getConstants(), entry.getKey());
+				}
+			}
+		}
+	}
+
+	private static int size(final RuleConstants constants) {
+		return constants == null ? 0 : constants.size();
+	}
 }
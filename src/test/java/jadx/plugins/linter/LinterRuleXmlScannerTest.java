@@ -0,0 +1,88 @@
+package jadx.plugins.linter;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LinterRuleXmlScannerTest {
+
+	@Test
+	void testScannerMatchesStax() throws Exception {
+		final List<Path> ruleFiles;
+		try (final Stream<Path> files = Files.walk(LinterTestRules.RULES_DIR.toPath())) {
+			ruleFiles = files.filter(f -> f.toString().endsWith(".xml")).collect(Collectors.toList());
+		}
+		assertFalse(ruleFiles.isEmpty());
+		for (final Path ruleFile : ruleFiles) {
+			final byte[] data = Files.readAllBytes(ruleFile);
+			final Map<String, List<LinterRule<?>>> scanned = new HashMap<>();
+			assertTrue(LinterRuleXmlScanner.scan(data, "test", scanned), ruleFile.toString());
+			assertEquals(parseWithStax(data), toString(scanned), ruleFile.toString());
+		}
+	}
+
+	@Test
+	void testEntities() throws Exception {
+		final byte[] data = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<root>\n"
+				+ "  <!-- comment -->\n"
+				+ "  <item name=\"a.B java.util.List&lt;java.lang.String&gt; get(int) 0\">\n"
+				+ "    <annotation name=\"androidx.annotation.StringDef\">\n"
+				+ "      <val name=\"value\" val=\"{a.B.X, a.B.&#89;}\" />\n"
+				+ "      <val name='flag' val='true'/>\n"
+				+ "    </annotation>\n"
+				+ "  </item>\n"
+				+ "</root>\n").getBytes(StandardCharsets.UTF_8);
+		final Map<String, List<LinterRule<?>>> scanned = new HashMap<>();
+		assertTrue(LinterRuleXmlScanner.scan(data, "test", scanned));
+		assertEquals(parseWithStax(data), toString(scanned));
+		final LinterRule<?> rule = scanned.get("a.B java.util.List<java.lang.String> get(int)").get(0);
+		assertEquals("a.B.X, a.B.Y", rule.getConstantListString());
+		assertTrue(rule.isFlag());
+	}
+
+	@Test
+	void testMismatchAddsNothing() {
+		final byte[] data = ("<root><item name=\"a.B void set(int) 0\">"
+				+ "<annotation name=\"androidx.annotation.IntDef\"><val name=\"value\" val=\"{a.B.X}\" /></annotation>"
+				+ "</item><item name=\"a.B void other(int) 0\"><![CDATA[text]]></item></root>").getBytes(StandardCharsets.UTF_8);
+		final Map<String, List<LinterRule<?>>> scanned = new HashMap<>();
+		assertFalse(LinterRuleXmlScanner.scan(data, "test", scanned));
+		assertTrue(scanned.isEmpty());
+	}
+
+	private static String parseWithStax(final byte[] data) throws Exception {
+		final Map<String, List<LinterRule<?>>> parsed = new HashMap<>();
+		LinterRuleLoader.parseWithStax(new ByteArrayInputStream(data), "test", parsed);
+		return toString(parsed);
+	}
+
+	private static String toString(final Map<String, List<LinterRule<?>>> linterRules) {
+		final StringBuilder sb = new StringBuilder();
+		linterRules.entrySet().stream().sorted(Map.Entry.comparingByKey(Comparator.nullsFirst(Comparator.naturalOrder())))
+				.forEach(entry -> {
+					sb.append(entry.getKey()).append('\n');
+					for (final LinterRule<?> rule : entry.getValue()) {
+						if (rule == null) {
+							sb.append(" null\n");
+							continue;
+						}
+						sb.append(' ').append(rule.getType()).append(' ').append(rule.getArgumentOffset()).append(' ')
+								.append(rule.isFlag()).append(' ').append(rule.getConstantListString()).append('\n');
+					}
+				});
+		return sb.toString();
+	}
+}
@@ -0,0 +1,89 @@
+package jadx.plugins.linter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LinterStatsTest {
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testReport() {
+		final LinterRule<?> sdkRule = new IntLinterRule("a.B void m(int)", 0, false, "Android SDK", "a.B.C");
+		final LinterRule<?> libRule = new IntLinterRule("c.D void n(int)", 0, true, "androidx.core", "c.D.E");
+		final LinterStats stats = new LinterStats();
+		stats.recordLoad("files", 100);
+		stats.recordRuleFile();
+		stats.recordMethod(10);
+		stats.recordMethod(30);
+		stats.recordBudgetExceeded();
+		stats.recordHit(sdkRule);
+		stats.recordReplacement(sdkRule);
+		stats.recordHit(libRule);
+		stats.recordUnfold(libRule);
+		stats.recordHit(libRule);
+		stats.recordUnmatched(libRule);
+
+		assertEquals(3, stats.getRuleHits());
+		assertEquals(1, stats.getReplacements());
+		assertEquals(1, stats.getUnfolds());
+		assertEquals(1, stats.getUnmatched());
+		assertEquals(1, stats.getBudgetExceeded());
+
+		final LinterRule<?> unusedRule = new IntLinterRule("c.D void o(int)", 0, false, "androidx.core", "c.D.F");
+		final HeapRuleStore ruleStore = new HeapRuleStore(Map.of("a.B void m(int)", List.of(sdkRule),
+				"c.D void n(int)", List.of(libRule), "c.D void o(int)", List.of(unusedRule)));
+		final Map<String, Object> report = stats.buildReport(null, ruleStore);
+		assertEquals(3, ((Map<String, Object>) report.get("load")).get("signatures"));
+		final Map<String, Object> pass = (Map<String, Object>) report.get("pass");
+		assertEquals(2L, pass.get("methods"));
+		assertEquals(40L, pass.get("methodNanos"));
+		assertEquals(30L, pass.get("maxMethodNanos"));
+		assertEquals(2, pass.get("rulesHit"));
+
+		final List<Map<String, Object>> rules = (List<Map<String, Object>>) report.get("rules");
+		assertEquals("c.D void n(int)", rules.get(0).get("signature"));
+		assertEquals(2L, rules.get(0).get("hits"));
+		assertEquals(1L, rules.get(0).get("unmatched"));
+
+		final List<Map<String, Object>> artifacts = (List<Map<String, Object>>) report.get("artifacts");
+		assertEquals("androidx.core", artifacts.get(0).get("source"));
+		assertEquals("Android SDK", artifacts.get(1).get("source"));
+		assertEquals(1L, artifacts.get(1).get("replacements"));
+		assertEquals(2L, artifacts.get(0).get("rules"));
+		assertEquals(1L, artifacts.get(0).get("unusedRules"));
+		assertEquals(0L, artifacts.get(1).get("unusedRules"));
+
+		final List<Map<String, Object>> unusedRules = (List<Map<String, Object>>) report.get("unusedRules");
+		assertEquals(1, unusedRules.size());
+		assertEquals("c.D void o(int)", unusedRules.get(0).get("signature"));
+		assertEquals("androidx.core", unusedRules.get(0).get("source"));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testTierReport() {
+		final LinterRule<?> sdkRule = new IntLinterRule("a.B void m(int)", 0, false, "Android SDK", "a.B.C");
+		final LinterRule<?> libRule = new IntLinterRule("c.D void n(int)", 0, true, "androidx.core", "c.D.E");
+		final LinterStats stats = new LinterStats();
+		stats.recordTier("Android SDK", 10, 1, Set.of("Android SDK"));
+		stats.recordTier("maven-google", 20, 2, Set.of("androidx.core"));
+		stats.recordHit(sdkRule);
+		stats.recordHit(libRule);
+		stats.recordHit(libRule);
+		stats.recordReplacement(libRule);
+
+		final List<Map<String, Object>> tiers = (List<Map<String, Object>>) stats.buildReport(null, null).get("tiers");
+		assertEquals(2, tiers.size());
+		assertEquals("Android SDK", tiers.get(0).get("name"));
+		assertEquals(1L, tiers.get(0).get("hits"));
+		assertEquals("maven-google", tiers.get(1).get("name"));
+		assertEquals(2, tiers.get(1).get("signatures"));
+		assertEquals(2L, tiers.get(1).get("hits"));
+		assertEquals(1L, tiers.get(1).get("replacements"));
+	}
+}
@@ -0,0 +1,86 @@
+package jadx.plugins.linter;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Shared fixtures of the linter tests: the packaged rules loaded once and a temporary linter cache directory.
+ */
+final class LinterTestRules {
+
+	static final File RULES_DIR = new File("src/main/resources/linter");
+
+	private static LinterRuleLoader loadedRules;
+
+	private LinterTestRules() {
+	}
+
+	/**
+	 * New loader of the packaged rules without a root node, rules and constants are not loaded yet.
+	 */
+	static LinterRuleLoader newLoader() {
+		return new LinterRuleLoader(null, RULES_DIR);
+	}
+
+	/**
+	 * Loader with all packaged rules and constants, loaded on first use and shared by the tests, which must not modify it.
+	 */
+	static synchronized LinterRuleLoader getLoadedRules() {
+		if (loadedRules == null) {
+			final LinterRuleLoader ruleLoader = newLoader();
+			ruleLoader.loadRulesAndConstants();
+			loadedRules = ruleLoader;
+		}
+		return loadedRules;
+	}
+
+	/**
+	 * Every other signature of the loaded rules in signature order, to add rules as tiers.
+	 *
+	 * @param tier 0 or 1
+	 */
+	static Map<String, List<LinterRule<?>>> getTierRules(final int tier) {
+		final Map<String, List<LinterRule<?>>> tierRules = new HashMap<>();
+		int i = 0;
+		for (final Map.Entry<String, List<LinterRule<?>>> entry : new TreeMap<>(getLoadedRules().getLinterRules()).entrySet()) {
+			if (i++ % 2 == tier) {
+				tierRules.put(entry.getKey(), entry.getValue());
+			}
+		}
+		return tierRules;
+	}
+
+	@FunctionalInterface
+	interface CacheDirTask {
+		void run(Path cacheDir) throws Exception;
+	}
+
+	/**
+	 * Run the task with a new temporary linter cache directory, which is deleted afterwards.
+	 */
+	static void withTempCacheDir(final CacheDirTask task) throws Exception {
+		final Path dir = Files.createTempDirectory("linter-cache");
+		LinterCacheDir.set(dir);
+		try {
+			task.run(dir);
+		} finally {
+			LinterCacheDir.set(null);
+			deleteDir(dir);
+		}
+	}
+
+	static void deleteDir(final Path dir) throws Exception {
+		try (final Stream<Path> files = Files.walk(dir)) {
+			for (final Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+				Files.delete(file);
+			}
+		}
+	}
+}
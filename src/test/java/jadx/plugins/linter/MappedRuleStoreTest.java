@@ -0,0 +1,52 @@
+package jadx.plugins.linter;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedRuleStoreTest {
+
+	@Test
+	void testDecodeLikeHeapStore() throws Exception {
+		final HeapRuleStore heapStore = RuleCore.load(LinterTestRules.newLoader()).getStore();
+		LinterTestRules.withTempCacheDir(dir -> {
+			// field references are resolved on first use, like the unbound fields of the heap store
+			final LinterRuleLoader ruleLoader = LinterTestRules.newLoader();
+			ruleLoader.setLazyFields(true);
+			final MappedRuleStore store = MappedRuleStore.open(ruleLoader, null);
+			assertNotNull(store);
+			assertTrue(ruleLoader.isSnapshotWritten());
+			assertEquals(heapStore.size(), store.size());
+			assertTrue(store.hasClassRules("android.view.View"));
+			assertFalse(store.hasClassRules("java.lang.Object"));
+			assertNull(store.getRules("android.view.View", "void unknownMethod(int)"));
+
+			heapStore.forEachSignature(signature -> {
+				final List<LinterRule<?>> expected = heapStore.getRules(signature);
+				final List<LinterRule<?>> rules = store.getRules(signature);
+				assertNotNull(rules, signature);
+				assertEquals(expected.size(), rules.size(), signature);
+				for (int i = 0; i < rules.size(); i++) {
+					assertEquals(expected.get(i).getArgumentOffset(), rules.get(i).getArgumentOffset(), signature);
+					final RuleConstants constants = expected.get(i).getConstants();
+					assertEquals(constants == null ? 0 : constants.size(), rules.get(i).getConstants().size(), signature);
+				}
+			});
+
+			// existing snapshot is mapped without parsing the rule files
+			final LinterRuleLoader secondLoader = LinterTestRules.newLoader();
+			secondLoader.setLazyFields(true);
+			final MappedRuleStore mapped = MappedRuleStore.open(secondLoader, null);
+			assertNotNull(mapped);
+			assertEquals(store.size(), mapped.size());
+			assertTrue(secondLoader.getLinterRules().isEmpty());
+			assertFalse(secondLoader.isSnapshotWritten());
+		});
+	}
+}
@@ -0,0 +1,40 @@
+package jadx.plugins.linter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.core.dex.nodes.IFieldInfoRef;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class NumericRuleConstantsTest {
+
+	@Test
+	void testLookup() {
+		final Map<Integer, IFieldInfoRef> constantMap = new HashMap<>();
+		final IFieldInfoRef min = new LazyFieldInfoRef(null, "a.B", "MIN", null);
+		final IFieldInfoRef minusOne = new LazyFieldInfoRef(null, "a.B", "MINUS_ONE", null);
+		final IFieldInfoRef eight = new LazyFieldInfoRef(null, "a.B", "EIGHT", null);
+		constantMap.put(Integer.MIN_VALUE, min);
+		constantMap.put(-1, minusOne);
+		constantMap.put(8, eight);
+		final NumericRuleConstants constants = NumericRuleConstants.of(constantMap);
+
+		assertEquals(3, constants.size());
+		assertSame(eight, constants.get(8));
+		assertSame(minusOne, constants.get((int) 0xFFFFFFFFL));
+		assertSame(min, constants.get(Integer.MIN_VALUE));
+		assertNull(constants.get(0));
+		assertNull(constants.get(0xFFFFFFFFL));
+		assertNull(constants.get("8"));
+
+		// ascending order is used to unfold flags
+		assertEquals(Integer.MIN_VALUE, constants.getValue(0));
+		assertEquals(-1, constants.getValue(1));
+		assertEquals(8, constants.getValue(2));
+	}
+}
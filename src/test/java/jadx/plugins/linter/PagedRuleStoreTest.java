@@ -0,0 +1,52 @@
+package jadx.plugins.linter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PagedRuleStoreTest {
+
+	@Test
+	void testSegmentsLoadedOnLookup() throws Exception {
+		final LinterRuleLoader ruleLoader = LinterTestRules.getLoadedRules();
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		RuleBundle.write(out, ruleLoader.getIndexHash(), ruleLoader.getLinterRules(), ruleLoader.constantTable.toMap());
+		final PagedRuleStore store = new PagedRuleStore(RuleBundle.read(new ByteArrayInputStream(out.toByteArray())), null, true);
+
+		assertEquals(ruleLoader.getLinterRules().size(), store.size());
+		assertTrue(store.getSegmentCount() > 1);
+		assertTrue(store.hasClassRules("android.view.View"));
+		assertFalse(store.hasClassRules("java.lang.Object"));
+		assertEquals(0, store.getLoadedSegments());
+
+		assertFalse(store.getRules("android.view.View", "void setVisibility(int)").isEmpty());
+		assertEquals(1, store.getLoadedSegments());
+		assertNull(store.getRules("android.view.View", "void unknownMethod(int)"));
+		assertNull(store.getRules("a.Unknown", "void setVisibility(int)"));
+		assertEquals(1, store.getLoadedSegments());
+
+		for (final Map.Entry<String, List<LinterRule<?>>> entry : ruleLoader.getLinterRules().entrySet()) {
+			final List<LinterRule<?>> rules = store.getRules(entry.getKey());
+			assertEquals(entry.getValue().size(), rules.size(), entry.getKey());
+			for (int i = 0; i < rules.size(); i++) {
+				assertEquals(entry.getValue().get(i).getArgumentOffset(), rules.get(i).getArgumentOffset(), entry.getKey());
+			}
+		}
+		assertEquals(store.getSegmentCount(), store.getLoadedSegments());
+	}
+
+	@Test
+	void testPackage() {
+		assertEquals("android.view", PagedRuleStore.getPackage("android.view.View"));
+		assertEquals("android.view.View", PagedRuleStore.getPackage("android.view.View.OnClickListener"));
+		assertEquals("", PagedRuleStore.getPackage("Unknown"));
+	}
+}
@@ -0,0 +1,72 @@
+package jadx.plugins.linter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RuleBundleTest {
+
+	@Test
+	void testBundleMatchesRuleFiles() throws Exception {
+		final LinterRuleLoader ruleLoader = LinterTestRules.getLoadedRules();
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		RuleBundle.write(out, ruleLoader.getIndexHash(), ruleLoader.getLinterRules(), ruleLoader.constantTable.toMap());
+		final RuleBundle bundle = RuleBundle.read(new ByteArrayInputStream(out.toByteArray()));
+		assertEquals(ruleLoader.getIndexHash(), bundle.getKey());
+
+		final Map<String, List<LinterRule<?>>> linterRules = new HashMap<>();
+		final ConstantTable constantTable = new ConstantTable();
+		bundle.loadInto(linterRules, constantTable);
+
+		assertEquals(ruleLoader.constantTable.toMap(), constantTable.toMap());
+		assertEquals(ruleLoader.getLinterRules().keySet(), linterRules.keySet());
+		for (final Map.Entry<String, List<LinterRule<?>>> entry : ruleLoader.getLinterRules().entrySet()) {
+			assertEquals(toString(entry.getValue()), toString(linterRules.get(entry.getKey())), entry.getKey());
+			assertTrue(bundle.findSignature(entry.getKey()) >= 0);
+		}
+		assertEquals(-1, bundle.findSignature("android.view.View void unknownMethod(int)"));
+		assertTrue(bundle.hasSignaturePrefix("android.view.View "));
+		assertFalse(bundle.hasSignaturePrefix("android.view.Vie "));
+		assertFalse(bundle.hasSignaturePrefix("zzz.Unknown "));
+		assertEquals("8", bundle.findConstant("android.view.View.GONE"));
+	}
+
+	@Test
+	void testSkipNullRules() throws Exception {
+		final LinterRule<?> rule = new IntLinterRule("a.B void set(int)", 0, false, "test", "a.B.C");
+		final Map<String, List<LinterRule<?>>> linterRules = new HashMap<>();
+		linterRules.put("a.B void set(int)", Arrays.asList(null, rule));
+		linterRules.put("a.B void unknown(int)", Collections.singletonList(null));
+		linterRules.put(null, Collections.singletonList(rule));
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		RuleBundle.write(out, "key", linterRules, Map.of("a.B.C", "1"));
+		final RuleBundle bundle = RuleBundle.read(new ByteArrayInputStream(out.toByteArray()));
+		assertEquals(1, bundle.getSignatureCount());
+		final Map<String, List<LinterRule<?>>> loadedRules = new HashMap<>();
+		bundle.loadInto(loadedRules, new ConstantTable());
+		assertEquals(Set.of("a.B void set(int)"), loadedRules.keySet());
+		assertEquals(toString(List.of(rule)), toString(loadedRules.get("a.B void set(int)")));
+	}
+
+	private static String toString(final List<LinterRule<?>> rules) {
+		final StringBuilder sb = new StringBuilder();
+		for (final LinterRule<?> rule : rules) {
+			sb.append(rule.getType()).append(' ').append(rule.getArgumentOffset()).append(' ').append(rule.isFlag()).append(' ')
+					.append(rule.getSource()).append(' ').append(rule.getConstantListString()).append('\n');
+		}
+		return sb.toString();
+	}
+}
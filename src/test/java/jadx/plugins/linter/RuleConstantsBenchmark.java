@@ -0,0 +1,87 @@
+package jadx.plugins.linter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jadx.core.dex.nodes.IFieldInfoRef;
+
+/**
+ * Compare boxed HashMap lookups with {@link NumericRuleConstants} for the largest IntDef constant
+ * list, run with {@code ./gradlew benchmark -Pjmh.include=RuleConstantsBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RuleConstantsBenchmark {
+
+	private static final int LOOKUPS = 1024;
+
+	private Map<Integer, IFieldInfoRef> hashMap;
+	private NumericRuleConstants constants;
+	private long[] literals;
+
+	@Setup
+	public void setup() {
+		final LinterRuleLoader ruleLoader = LinterTestRules.newLoader();
+		ruleLoader.setLazyFields(true);
+		ruleLoader.loadRulesAndConstants();
+		ruleLoader.mapConstants();
+		for (final List<LinterRule<?>> rules : ruleLoader.getLinterRules().values()) {
+			for (final LinterRule<?> rule : rules) {
+				if (rule.getType() == DefTypes.INT_DEF
+						&& (constants == null || rule.getConstants().size() > constants.size())) {
+					constants = (NumericRuleConstants) rule.getConstants();
+				}
+			}
+		}
+		hashMap = new HashMap<>();
+		for (int i = 0; i < constants.size(); i++) {
+			hashMap.put((int) constants.getValue(i), constants.getField(i));
+		}
+		// half hits, half misses
+		final Random random = new Random(42);
+		literals = new long[LOOKUPS];
+		for (int i = 0; i < LOOKUPS; i++) {
+			literals[i] = i % 2 == 0 ? constants.getValue(random.nextInt(constants.size())) : random.nextInt();
+		}
+	}
+
+	@Benchmark
+	public int boxedHashMap() {
+		int found = 0;
+		for (final long literal : literals) {
+			if (hashMap.get((int) literal) != null) {
+				found++;
+			}
+		}
+		return found;
+	}
+
+	@Benchmark
+	public int ruleConstants() {
+		int found = 0;
+		for (final long literal : literals) {
+			if (constants.get((int) literal) != null) {
+				found++;
+			}
+		}
+		return found;
+	}
+}
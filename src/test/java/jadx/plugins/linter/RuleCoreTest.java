@@ -0,0 +1,50 @@
+package jadx.plugins.linter;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.JadxArgs;
+import jadx.core.dex.nodes.IFieldInfoRef;
+import jadx.core.dex.nodes.RootNode;
+import jadx.plugins.linter.index.RuleIndexUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RuleCoreTest {
+
+	@Test
+	void testSharedBetweenDecompilers() {
+		RuleCore.clearShared();
+		final RuleCore core = RuleCore.getShared(new LinterRuleLoader(null, RuleIndexUtils.usePackagedRules()), new LinterStats());
+		final LinterStats stats = new LinterStats();
+		assertSame(core, RuleCore.getShared(new LinterRuleLoader(null, RuleIndexUtils.usePackagedRules()), stats));
+		assertEquals("shared", ((Map<?, ?>) stats.buildReport(null, null).get("load")).get("source"));
+
+		RuleCore.clearShared();
+		assertNotSame(core, RuleCore.getShared(new LinterRuleLoader(null, RuleIndexUtils.usePackagedRules()), new LinterStats()));
+	}
+
+	@Test
+	void testFieldBinding() {
+		final RuleCore core = RuleCore.load(new LinterRuleLoader(null, RuleIndexUtils.usePackagedRules()));
+		final LinterRule<?> rule = core.getStore().getRules("android.view.View", "void setVisibility(int)").get(0);
+		final IFieldInfoRef gone = rule.getConstants().get(8);
+		assertFalse(((LazyFieldInfoRef) gone).isBound());
+		assertThrows(RuntimeException.class, gone::getFieldInfo);
+
+		final FieldBinding binding = new FieldBinding(new RootNode(new JadxArgs()));
+		assertEquals("GONE", binding.getFieldInfo(gone).getName());
+		assertSame(binding.getFieldInfo(gone), binding.getFieldInfo(gone));
+		assertEquals(1, binding.size());
+
+		final FieldBinding eagerBinding = new FieldBinding(new RootNode(new JadxArgs()));
+		eagerBinding.bindAll(core.getStore());
+		assertTrue(eagerBinding.size() > 1);
+	}
+}
@@ -0,0 +1,101 @@
+package jadx.plugins.linter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RuleFilterTest {
+
+	@Test
+	void testSelectiveLoading() throws Exception {
+		final LinterRuleLoader fullLoader = LinterTestRules.getLoadedRules();
+		final Map<String, List<LinterRule<?>>> allRules = fullLoader.getLinterRules();
+
+		LinterTestRules.withTempCacheDir(dir -> {
+			final RuleFilter filter = newFilter();
+			final LinterStats stats = new LinterStats();
+			final LinterRuleLoader ruleLoader = loadSelective(filter, stats);
+			checkFilteredRules(allRules, ruleLoader.getLinterRules());
+			// counted once per signature, although rule files have an item per rule
+			final long signatures = allRules.keySet().stream().filter(Objects::nonNull).count();
+			assertEquals(signatures, filter.getKept() + filter.getSkipped());
+			assertEquals(ruleLoader.getLinterRules().keySet().stream().filter(Objects::nonNull).count(), filter.getKept());
+			// all files were parsed to build the file index
+			assertEquals(fullLoader.constantTable.size(), ruleLoader.constantTable.size());
+			assertTrue(Files.isRegularFile(RuleFileIndex.getIndexFile()));
+
+			// second load skips the files without rules for the referenced classes
+			final RuleFilter indexedFilter = newFilter();
+			final LinterStats indexedStats = new LinterStats();
+			final LinterRuleLoader indexedLoader = loadSelective(indexedFilter, indexedStats);
+			checkFilteredRules(allRules, indexedLoader.getLinterRules());
+			assertEquals(filter.getKept(), indexedFilter.getKept());
+			assertTrue(indexedFilter.getSkipped() < filter.getSkipped());
+			assertTrue(indexedLoader.constantTable.size() < fullLoader.constantTable.size());
+			// constants of the kept rules are loaded
+			for (final List<LinterRule<?>> rules : indexedLoader.getLinterRules().values()) {
+				for (final LinterRule<?> rule : rules) {
+					for (final String constantName : rule.getConstantListString().split(", ")) {
+						assertEquals(fullLoader.constantTable.get(constantName), indexedLoader.constantTable.get(constantName), constantName);
+					}
+				}
+			}
+			final Object skippedRuleFiles = ((Map<?, ?>) stats.buildReport(null, null).get("load")).get("skippedRuleFiles");
+			assertEquals(skippedRuleFiles, ((Map<?, ?>) indexedStats.buildReport(null, null).get("load")).get("skippedRuleFiles"));
+			assertTrue((Long) skippedRuleFiles > 0);
+		});
+	}
+
+	private static RuleFilter newFilter() {
+		return new RuleFilter(Set.of("android.view.View", "android.app.ActionBar"), Set.of("setVisibility", "setDisplayOptions"));
+	}
+
+	private static LinterRuleLoader loadSelective(final RuleFilter filter, final LinterStats stats) {
+		final LinterRuleLoader ruleLoader = LinterTestRules.newLoader();
+		ruleLoader.setStats(stats);
+		ruleLoader.setRuleFilter(filter);
+		ruleLoader.loadRulesAndConstants();
+		return ruleLoader;
+	}
+
+	private static void checkFilteredRules(final Map<String, List<LinterRule<?>>> allRules,
+			final Map<String, List<LinterRule<?>>> filteredRules) {
+
+		assertEquals(allRules.get("android.view.View void setVisibility(int)").size(),
+				filteredRules.get("android.view.View void setVisibility(int)").size());
+		assertEquals(allRules.get("android.app.ActionBar void setDisplayOptions(int, int)").size(),
+				filteredRules.get("android.app.ActionBar void setDisplayOptions(int, int)").size());
+		for (final String signature : filteredRules.keySet()) {
+			assertTrue(signature == null || signature.startsWith("android.view.View ") || signature.startsWith("android.app.ActionBar "),
+					signature);
+		}
+		assertFalse(filteredRules.containsKey("android.view.View void setLayoutDirection(int)"));
+	}
+
+	@Test
+	void testSameCountsForBundle() throws Exception {
+		final LinterRuleLoader fullLoader = LinterTestRules.getLoadedRules();
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		RuleBundle.write(out, fullLoader.getIndexHash(), fullLoader.getLinterRules(), fullLoader.constantTable.toMap());
+		final RuleBundle bundle = RuleBundle.read(new ByteArrayInputStream(out.toByteArray()));
+
+		final RuleFilter xmlFilter = newFilter();
+		LinterTestRules.withTempCacheDir(dir -> loadSelective(xmlFilter, new LinterStats()));
+
+		final RuleFilter bundleFilter = newFilter();
+		bundle.loadInto(new HashMap<>(), new ConstantTable(), bundleFilter::matches);
+		assertEquals(xmlFilter.getKept(), bundleFilter.getKept());
+		assertEquals(xmlFilter.getSkipped(), bundleFilter.getSkipped());
+	}
+}
@@ -0,0 +1,67 @@
+package jadx.plugins.linter;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import jadx.api.JadxArgs;
+import jadx.core.dex.nodes.RootNode;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RuleLoadEventTest {
+
+	@Test
+	void testLoadPhaseEvents() throws Exception {
+		final Path recordingFile = Files.createTempFile("linter", ".jfr");
+		try (final Recording recording = new Recording()) {
+			recording.enable(RuleLoadEvent.class);
+			recording.start();
+			final LinterRuleLoader ruleLoader = new LinterRuleLoader(new RootNode(new JadxArgs()), LinterTestRules.RULES_DIR);
+			ruleLoader.setLoadThreads(1);
+			ruleLoader.loadRulesAndConstants();
+			ruleLoader.mapConstants();
+			recording.stop();
+			recording.dump(recordingFile);
+		}
+		final List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile).stream()
+				.filter(e -> e.getEventType().getName().equals("jadx.plugins.linter.RuleLoad"))
+				.collect(Collectors.toList());
+		Files.delete(recordingFile);
+
+		assertEquals(1, countPhase(events, RuleLoadEvent.INDEX));
+		assertEquals(1, countPhase(events, RuleLoadEvent.MAP_CONSTANTS));
+		assertTrue(countPhase(events, RuleLoadEvent.REPOSITORY) > 0);
+		assertTrue(countPhase(events, RuleLoadEvent.CONSTANTS) > 0);
+		final RecordedEvent sdkRules = events.stream()
+				.filter(e -> "android.xml".equals(e.getString("file")))
+				.findFirst().orElseThrow();
+		assertEquals(RuleLoadEvent.RULES, sdkRules.getString("phase"));
+		assertTrue(sdkRules.getInt("count") > 1000);
+
+		// repository phases include parsing and merging their files
+		for (final RecordedEvent repo : events) {
+			if (RuleLoadEvent.REPOSITORY.equals(repo.getString("phase"))) {
+				final String prefix = repo.getString("file") + '/';
+				final Duration filesDuration = events.stream()
+						.filter(e -> e.getString("file") != null && e.getString("file").startsWith(prefix))
+						.map(RecordedEvent::getDuration)
+						.reduce(Duration.ZERO, Duration::plus);
+				assertTrue(repo.getDuration().compareTo(filesDuration) >= 0, repo.getString("file"));
+			}
+		}
+	}
+
+	private static long countPhase(final List<RecordedEvent> events, final String phase) {
+		return events.stream().filter(e -> phase.equals(e.getString("phase"))).count();
+	}
+}
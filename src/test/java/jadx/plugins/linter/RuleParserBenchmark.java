@@ -0,0 +1,62 @@
+package jadx.plugins.linter;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the rule file scanner with the StAX parser, run with {@code ./gradlew benchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RuleParserBenchmark {
+
+	@Param({
+			"android.xml",
+			"maven-google/androidx.media3_media3-common.xml",
+			"maven-google/com.google.android.exoplayer_exoplayer-common.xml",
+			"maven-google/androidx.media3_media3-exoplayer.xml"
+	})
+	public String ruleFile;
+
+	private byte[] data;
+
+	@Setup
+	public void setup() throws Exception {
+		data = Files.readAllBytes(Paths.get("src/main/resources/linter", ruleFile));
+	}
+
+	@Benchmark
+	public Map<String, List<LinterRule<?>>> scanner() {
+		final Map<String, List<LinterRule<?>>> linterRules = new HashMap<>();
+		LinterRuleXmlScanner.scan(data, ruleFile, linterRules);
+		return linterRules;
+	}
+
+	@Benchmark
+	public Map<String, List<LinterRule<?>>> stax() throws Exception {
+		final Map<String, List<LinterRule<?>>> linterRules = new HashMap<>();
+		LinterRuleLoader.parseWithStax(new ByteArrayInputStream(data), ruleFile, linterRules);
+		return linterRules;
+	}
+}
@@ -0,0 +1,51 @@
+package jadx.plugins.linter;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RulePrefilterTest {
+
+	@Test
+	void testNoFalseNegatives() {
+		final LinterRuleLoader ruleLoader = LinterTestRules.getLoadedRules();
+		final HeapRuleStore ruleStore = new HeapRuleStore(ruleLoader.getLinterRules());
+		final RulePrefilter prefilter = RulePrefilter.build(ruleStore);
+		ruleStore.forEachSignature(signature -> {
+			final int nameEnd = signature.indexOf('(');
+			final String methodName = signature.substring(signature.lastIndexOf(' ', nameEnd) + 1, nameEnd);
+			assertTrue(prefilter.checkMethod(methodName), signature);
+			assertTrue(prefilter.mightHaveClass(signature.substring(0, signature.indexOf(' '))), signature);
+		});
+		assertEquals(0, prefilter.getRejected());
+
+		final int count = 10000;
+		for (int i = 0; i < count; i++) {
+			prefilter.checkMethod("unknownMethod" + i);
+		}
+		// expected false positive rate with 10 bits per entry is below 1%
+		assertTrue(prefilter.getRejected() > count * 97L / 100);
+	}
+
+	@Test
+	void testTierSignatures() {
+		final HeapRuleStore store = new HeapRuleStore(LinterTestRules.getTierRules(0));
+		final Map<String, List<LinterRule<?>>> secondTier = LinterTestRules.getTierRules(1);
+		final HeapRuleStore tierStore = store.withRules(secondTier);
+		final RulePrefilter prefilter = RulePrefilter.build(store);
+		prefilter.checkMethod("unknownMethod");
+		final RulePrefilter tierPrefilter = prefilter.withSignatures(tierStore, secondTier.keySet());
+		tierStore.forEachSignature(signature -> {
+			final int nameEnd = signature.indexOf('(');
+			assertTrue(tierPrefilter.mightHaveMethod(signature.substring(signature.lastIndexOf(' ', nameEnd) + 1, nameEnd)), signature);
+			assertTrue(tierPrefilter.mightHaveClass(signature.substring(0, signature.indexOf(' '))), signature);
+		});
+		// counting goes on with the filter of the new tier
+		tierPrefilter.checkMethod("unknownMethod");
+		assertEquals(2, tierPrefilter.getChecked());
+	}
+}
@@ -0,0 +1,47 @@
+package jadx.plugins.linter;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RuleSnapshotTest {
+
+	@Test
+	void testWriteAndRead() throws Exception {
+		final LinterRuleLoader ruleLoader = LinterTestRules.getLoadedRules();
+		LinterTestRules.withTempCacheDir(dir -> {
+			assertNull(RuleSnapshot.read("key"));
+			RuleSnapshot.write("key", ruleLoader.getLinterRules(), ruleLoader.constantTable.toMap());
+			assertEquals(dir.resolve(RuleSnapshot.SNAPSHOT_FILE), RuleSnapshot.getSnapshotFile());
+
+			final RuleBundle snapshot = RuleSnapshot.read("key");
+			assertNotNull(snapshot);
+			assertEquals(ruleLoader.getLinterRules().size(), snapshot.getSignatureCount());
+			assertEquals("8", snapshot.findConstant("android.view.View.GONE"));
+			final RuleBundle mapped = RuleSnapshot.map("key");
+			assertNotNull(mapped);
+			assertEquals(snapshot.getSignatureCount(), mapped.getSignatureCount());
+
+			// other rule index or plugin version
+			assertNull(RuleSnapshot.read("other key"));
+			assertNull(RuleSnapshot.map("other key"));
+
+			final Path snapshotFile = RuleSnapshot.getSnapshotFile();
+			final byte[] data = Files.readAllBytes(snapshotFile);
+			Files.write(snapshotFile, Arrays.copyOf(data, data.length / 2));
+			assertNull(RuleSnapshot.read("key"));
+			assertNull(RuleSnapshot.map("key"));
+
+			Files.write(snapshotFile, "not a rule bundle".getBytes(StandardCharsets.UTF_8));
+			assertNull(RuleSnapshot.read("key"));
+			assertNull(RuleSnapshot.map("key"));
+		});
+	}
+}